@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Создание бронирований из нескольких потоков: все на одну вещь ({@code hot=true}) или на случайные доступные вещи.
+ * Бронирования длиной в час в случайное время на {@code horizonDays} вперёд; пересекающиеся отклоняются
+ * календарём бронирований. После каждой итерации печатается доля отклонённых.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingContentionBenchmark {
+    @Param({"true", "false"})
+    public boolean hot;
+
+    @Param("1825")
+    public int horizonDays;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    private BookingService service;
+    private LocalDateTime from;
+    private long[] items;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        service = server.bean(BookingService.class);
+        from = LocalDateTime.now().plusDays(1).withNano(0);
+        items = server.bean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM items WHERE is_available ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        calls.reset();
+        conflicts.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printConflicts() {
+        System.out.printf("%nотклонено пересечений: %.1f%%%n", 100.0 * conflicts.sum() / Math.max(1, calls.sum()));
+    }
+
+    @Benchmark
+    public BookingDto create(ServerState server) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = from.plusMinutes(random.nextLong(horizonDays * 24L * 60));
+        BookingDto booking = BookingDto.builder()
+                .itemId(hot ? items[0] : items[random.nextInt(items.length)])
+                .start(start)
+                .end(start.plusHours(1))
+                .build();
+        calls.increment();
+        try {
+            return service.create(server.dataset().randomBooker(), booking);
+        } catch (ValidationException e) {
+            conflicts.increment();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingServiceBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"})
+    public String state;
+
+    @Param("20")
+    public int pageSize;
+
+    @Param("100")
+    public int from;
+
+    private BookingService service;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        service = server.bean(BookingService.class);
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllByOwner(ServerState server) {
+        return service.getAllByOwner(server.dataset().randomOwner(), state, from, pageSize);
+    }
+
+    @Benchmark
+    public Slice<BookingDto> getAllByOwnerWithCursor(ServerState server) {
+        return service.getAllByOwner(server.dataset().randomOwner(), state, BookingCursor.FIRST, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllByBooker(ServerState server) {
+        return service.getAllByUser(server.dataset().randomBooker(), state, from, pageSize);
+    }
+}
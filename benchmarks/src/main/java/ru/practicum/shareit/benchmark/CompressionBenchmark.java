@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.status.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Цена gzip на одном переходе (server → gateway или gateway → клиент) для списка бронирований владельца:
+ * сжатие на отправляющей стороне и распаковка на принимающей. Размеры тела до и после сжатия
+ * печатаются при запуске.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private byte[] json;
+    private byte[] compressed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = objectMapper.writeValueAsBytes(bookings());
+        compressed = gzip(json);
+        System.out.printf("%n%d бронирований: JSON %d байт, gzip %d байт (%.1f%%)%n", size, json.length,
+                compressed.length, 100.0 * compressed.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings());
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        return gzip(json);
+    }
+
+    @Benchmark
+    public byte[] gunzip() throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<BookingDto> bookings() {
+        List<BookingDto> bookings = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+        for (long id = 1; id <= size; id++) {
+            User booker = User.builder().id(id + 1).name("booker " + id).email("booker" + id + "@mail.ru").build();
+            Item item = Item.builder().id(id).owner(owner).name("Дрель " + id).description("Ударная дрель")
+                    .available(true).build();
+            bookings.add(BookingDto.builder().id(id).item(item).itemId(id).booker(booker).status(Status.APPROVED)
+                    .start(now.minusDays(1)).end(now.plusDays(1)).build());
+        }
+        return bookings;
+    }
+}
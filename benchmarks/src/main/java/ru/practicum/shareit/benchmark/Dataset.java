@@ -0,0 +1,40 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@AllArgsConstructor
+public class Dataset {
+    private final long[] ownerIds;
+    private final long[] bookerIds;
+    private final long[] itemIds;
+    private final long[] itemOwnerIds;
+    private final long[] requestIds;
+
+    public long randomOwner() {
+        return random(ownerIds);
+    }
+
+    public long randomBooker() {
+        return random(bookerIds);
+    }
+
+    public long randomItem() {
+        return random(itemIds);
+    }
+
+    public long ownerOf(long itemId) {
+        return itemOwnerIds[(int) (itemId - 1)];
+    }
+
+    public long randomRequest() {
+        return random(requestIds);
+    }
+
+    private static long random(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+/**
+ * Заполняет пустую базу пользователями, вещами, запросами, бронированиями и комментариями.
+ * Идентификаторы назначаются подряд с единицы, после загрузки счетчики identity сдвигаются за последнюю запись.
+ * При ненулевом {@link DatasetSize#getSkew()} вещи распределяются по владельцам, а бронирования и комментарии
+ * по вещам по закону Ципфа: появляются несколько крупных владельцев и популярные вещи.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator {
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] NAMES = {"Дрель", "Отвертка", "Пила", "Молоток", "Лестница", "Палатка",
+            "Велосипед", "Самокат", "Перфоратор", "Шуруповерт", "Рюкзак", "Удочка"};
+    private static final String[] ADJECTIVES = {"ударная", "аккумуляторная", "складная", "большая", "легкая",
+            "туристическая", "детская", "профессиональная"};
+    private static final String[] STATUSES = {"WAITING", "APPROVED", "APPROVED", "REJECTED"};
+    private static final String BOOKINGS_INSERT = "INSERT INTO bookings " +
+            "(id, start_date, end_date, booker_id, item_id, owner_id, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String COMMENTS_INSERT = "INSERT INTO comments " +
+            "(id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this(jdbcTemplate, new Random(seed));
+    }
+
+    public Dataset generate(DatasetSize size) {
+        LocalDateTime now = LocalDateTime.now();
+        int users = size.getOwners() + size.getBookers();
+        long[] ownerIds = LongStream.rangeClosed(1, size.getOwners()).toArray();
+        long[] bookerIds = LongStream.rangeClosed(size.getOwners() + 1, users).toArray();
+        long[] itemIds = LongStream.rangeClosed(1, size.items()).toArray();
+        long[] requestIds = LongStream.rangeClosed(1, size.requests()).toArray();
+        long[] itemOwnerIds = new long[itemIds.length];
+        ZipfSampler owners = new ZipfSampler(ownerIds.length, size.getSkew());
+        ZipfSampler items = new ZipfSampler(itemIds.length, size.getSkew());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= users; id++) {
+            rows.add(new Object[]{id, "user " + id, "user" + id + "@mail.ru"});
+        }
+        insert("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", rows);
+
+        for (long id : requestIds) {
+            rows.add(new Object[]{id, bookerIds[(int) ((id - 1) % bookerIds.length)], "Нужна " + name(),
+                    Timestamp.valueOf(now.minusHours(random.nextInt(24 * 30)))});
+        }
+        insert("INSERT INTO item_requests (id, owner_id, description, created_date) VALUES (?, ?, ?, ?)", rows);
+
+        for (long id : itemIds) {
+            long ownerId = size.getSkew() > 0 ? ownerIds[owners.sample(random)] : ownerIds[(int) ((id - 1) / size.getItemsPerOwner())];
+            itemOwnerIds[(int) (id - 1)] = ownerId;
+            Long requestId = requestIds.length > 0 && random.nextInt(4) == 0 ? pick(requestIds) : null;
+            rows.add(new Object[]{id, ownerId, name(), name() + " в хорошем состоянии", random.nextInt(10) != 0, requestId});
+        }
+        insert("INSERT INTO items (id, owner_id, name, description, is_available, request_id) VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        long bookingId = 0;
+        long commentId = 0;
+        List<Object[]> comments = new ArrayList<>();
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> occupied = new HashMap<>();
+        for (long id : itemIds) {
+            for (int i = 0; i < size.getBookingsPerItem(); i++) {
+                long itemId = size.getSkew() > 0 ? itemIds[items.sample(random)] : id;
+                LocalDateTime start = now.plusDays(random.nextInt(120) - 90).plusMinutes(random.nextInt(1440));
+                LocalDateTime end = start.plusDays(1 + random.nextInt(5));
+                long bookerId = pick(bookerIds);
+                String status = STATUSES[random.nextInt(STATUSES.length)];
+                if (!"REJECTED".equals(status) && !reserve(occupied.computeIfAbsent(itemId, key -> new TreeMap<>()), start, end)) {
+                    status = "REJECTED";
+                }
+                rows.add(new Object[]{++bookingId, Timestamp.valueOf(start), Timestamp.valueOf(end),
+                        bookerId, itemId, itemOwnerIds[(int) (itemId - 1)], status});
+                if (rows.size() == BATCH_SIZE) {
+                    insert(BOOKINGS_INSERT, rows);
+                }
+            }
+            for (int i = 0; i < size.getCommentsPerItem(); i++) {
+                long itemId = size.getSkew() > 0 ? itemIds[items.sample(random)] : id;
+                comments.add(new Object[]{++commentId, "Отличная вещь, " + name(), itemId, pick(bookerIds),
+                        Timestamp.valueOf(now.minusDays(random.nextInt(60)))});
+                if (comments.size() == BATCH_SIZE) {
+                    insert(COMMENTS_INSERT, comments);
+                }
+            }
+        }
+        insert(BOOKINGS_INSERT, rows);
+        insert(COMMENTS_INSERT, comments);
+
+        restartIdentity("users", users);
+        restartIdentity("item_requests", requestIds.length);
+        restartIdentity("items", itemIds.length);
+        restartIdentity("bookings", bookingId);
+        restartIdentity("comments", commentId);
+        log.info("Сгенерированы данные: пользователей {}, вещей {}, запросов {}, бронирований {}, комментариев {}",
+                users, itemIds.length, requestIds.length, bookingId, commentId);
+        return new Dataset(ownerIds, bookerIds, itemIds, itemOwnerIds, requestIds);
+    }
+
+    /**
+     * Неотклонённые бронирования одной вещи не пересекаются, как того требует сервер; пересекающееся
+     * бронирование записывается отклонённым. Занятые интервалы не пересекаются, поэтому достаточно
+     * проверить последний из начавшихся раньше конца нового.
+     */
+    private static boolean reserve(NavigableMap<LocalDateTime, LocalDateTime> occupied,
+                                   LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = occupied.lowerEntry(end);
+        if (before != null && before.getValue().isAfter(start)) {
+            return false;
+        }
+        occupied.put(start, end);
+        return true;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private void restartIdentity(String table, long lastId) {
+        jdbcTemplate.execute(String.format("ALTER TABLE %s ALTER COLUMN id RESTART WITH %d", table, lastId + 1));
+    }
+
+    private String name() {
+        return NAMES[random.nextInt(NAMES.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+    }
+
+    private long pick(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class DatasetSize {
+    int owners;
+
+    int bookers;
+
+    int itemsPerOwner;
+
+    int bookingsPerItem;
+
+    int commentsPerItem;
+
+    int requestsPerBooker;
+
+    double skew;
+
+    public int items() {
+        return owners * itemsPerOwner;
+    }
+
+    public int requests() {
+        return bookers * requestsPerBooker;
+    }
+}
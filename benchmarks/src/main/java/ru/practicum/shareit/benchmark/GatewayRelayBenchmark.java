@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.status.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Путь ответа сервера через gateway: разбор в {@code Object} с повторной сериализацией (как было)
+ * против передачи тела байтами. Сервер заменён заглушкой на loopback, отдающей список бронирований.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayRelayBenchmark {
+    @Param("1000")
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private HttpServer server;
+    private RestTemplate rest;
+    private HttpEntity<Void> request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(bookings());
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings/owner", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        request = new HttpEntity<>(headers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public byte[] objectRelay() throws JsonProcessingException {
+        Object body = rest.exchange("/bookings/owner", HttpMethod.GET, request, Object.class).getBody();
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] byteRelay() {
+        return rest.exchange("/bookings/owner", HttpMethod.GET, request, byte[].class).getBody();
+    }
+
+    private List<BookingDto> bookings() {
+        List<BookingDto> bookings = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+        for (long id = 1; id <= size; id++) {
+            User booker = User.builder().id(id + 1).name("booker " + id).email("booker" + id + "@mail.ru").build();
+            Item item = Item.builder().id(id).owner(owner).name("Дрель " + id).description("Ударная дрель")
+                    .available(true).build();
+            bookings.add(BookingDto.builder().id(id).item(item).itemId(id).booker(booker).status(Status.APPROVED)
+                    .start(now.minusDays(1)).end(now.plusDays(1)).build());
+        }
+        return bookings;
+    }
+}
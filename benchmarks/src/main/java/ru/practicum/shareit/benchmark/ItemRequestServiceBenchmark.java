@@ -0,0 +1,44 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Списки запросов измеряются целиком, так как подстановка вещей в запросы выполняется закрытым методом сервиса.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemRequestServiceBenchmark {
+    @Param("20")
+    public int pageSize;
+
+    private ItemRequestService service;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        service = server.bean(ItemRequestService.class);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAll(ServerState server) {
+        return service.getAll(server.dataset().randomOwner(), 0, pageSize);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllByUser(ServerState server) {
+        return service.getAllByUser(server.dataset().randomBooker(), 0, pageSize);
+    }
+
+    @Benchmark
+    public ItemRequestDto getById(ServerState server) {
+        return service.getById(server.dataset().randomBooker(), server.dataset().randomRequest());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает поиск через индекс в памяти с прежним запросом {@code like '%text%'} к базе на каталоге
+ * из {@code items} вещей. Слова «бензопила» в каталоге нет: на нём {@code like} просматривает всю таблицу.
+ * Бронирования и комментарии на поиск не влияют и не генерируются.
+ * Для миллиона вещей нужно около 3 ГБ памяти.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ItemSearchBenchmark {
+    private static final int ITEMS_PER_OWNER = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int items;
+
+    @Param({"дрель", "ВЕЛОСИП", "пила складная", "бензопила"})
+    public String text;
+
+    @Param("20")
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private Dataset dataset;
+    private ItemService service;
+    private ItemSearchIndex index;
+    private ItemRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerState.startServer();
+        dataset = ServerState.generate(context, 42, DatasetSize.builder()
+                .owners(items / ITEMS_PER_OWNER)
+                .bookers(500)
+                .itemsPerOwner(ITEMS_PER_OWNER)
+                .requestsPerBooker(2)
+                .build());
+        service = context.getBean(ItemService.class);
+        index = context.getBean(ItemSearchIndex.class);
+        repository = context.getBean(ItemRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        return index.search(text, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<ItemDto> service() {
+        return service.searchText(dataset.randomBooker(), text, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<ItemView> like() {
+        return repository.search(text, PageRequest.of(0, pageSize));
+    }
+}
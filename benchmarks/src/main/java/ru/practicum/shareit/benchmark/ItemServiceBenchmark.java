@@ -0,0 +1,37 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemServiceBenchmark {
+    @Param("20")
+    public int pageSize;
+
+    private ItemService service;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        service = server.bean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemDto> getAll(ServerState server) {
+        return service.getAll(server.dataset().randomOwner(), 0, pageSize);
+    }
+
+    @Benchmark
+    public ItemDto getByIdAsOwner(ServerState server) {
+        long itemId = server.dataset().randomItem();
+        return service.getById(itemId, server.dataset().ownerOf(itemId));
+    }
+}
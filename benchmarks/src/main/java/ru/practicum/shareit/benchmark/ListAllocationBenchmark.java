@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Сравнивает списки через сущности (как было до проекций) и через проекции в DTO.
+ * Память на запрос смотреть в {@code gc.alloc.rate.norm} при запуске с {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListAllocationBenchmark {
+    @Param("20")
+    public int pageSize;
+
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private BookingRepository bookingRepository;
+    private ItemRepository itemRepository;
+    private BookingMapper bookingMapper;
+    private ItemMapper itemMapper;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(server.bean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(server.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        bookingRepository = server.bean(BookingRepository.class);
+        itemRepository = server.bean(ItemRepository.class);
+        bookingMapper = server.bean(BookingMapper.class);
+        itemMapper = server.bean(ItemMapper.class);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingEntities(ServerState server) {
+        long ownerId = server.dataset().randomOwner();
+        return readOnly.execute(status -> entityManager
+                .createQuery(BookingRepository.WITH_DETAILS + "where b.ownerId = ?1 order by b.start desc", Booking.class)
+                .setParameter(1, ownerId)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(toList()));
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingProjections(ServerState server) {
+        return bookingRepository.findByOwnerId(server.dataset().randomOwner(),
+                        PageRequest.of(0, pageSize, Sort.by("start").descending()))
+                .stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> itemEntities(ServerState server) {
+        long ownerId = server.dataset().randomOwner();
+        return readOnly.execute(status -> entityManager
+                .createQuery(ItemRepository.WITH_OWNER + "where i.owner.id = ?1 order by i.id", Item.class)
+                .setParameter(1, ownerId)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(itemMapper::toItemDto)
+                .collect(toList()));
+    }
+
+    @Benchmark
+    public List<ItemDto> itemProjections(ServerState server) {
+        return itemRepository.findByOwnerId(server.dataset().randomOwner(),
+                        PageRequest.of(0, pageSize, Sort.by("id").ascending()))
+                .stream()
+                .map(itemMapper::toItemDto)
+                .collect(toList());
+    }
+}
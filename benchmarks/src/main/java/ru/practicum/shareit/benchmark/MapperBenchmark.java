@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.status.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param("1000")
+    public int size;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final CommentMapper commentMapper = new CommentMapper();
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookings = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= size; id++) {
+            User owner = User.builder().id(id).name("owner " + id).email("owner" + id + "@mail.ru").build();
+            User booker = User.builder().id(id + size).name("booker " + id).email("booker" + id + "@mail.ru").build();
+            Item item = Item.builder().id(id).owner(owner).name("Дрель " + id).description("Ударная дрель")
+                    .available(true).build();
+            items.add(item);
+            bookings.add(Booking.builder().id(id).item(item).booker(booker).status(Status.APPROVED)
+                    .start(now.minusDays(1)).end(now.plusDays(1)).build());
+            comments.add(Comment.builder().id(id).item(item).author(booker).text("Отличная дрель").created(now).build());
+        }
+    }
+
+    @Benchmark
+    public void toBookingDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(bookingMapper.toBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void toItemsBookingDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(bookingMapper.toItemsBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void toItemDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(itemMapper.toItemDto(item));
+        }
+    }
+
+    @Benchmark
+    public void toCommentDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(commentMapper.toCommentDto(comment));
+        }
+    }
+}
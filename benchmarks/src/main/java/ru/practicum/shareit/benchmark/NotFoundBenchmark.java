@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.lookup.IdFilters;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поток запросов пользователей, в котором доля {@code missRate} приходится на несуществующие id, как от перебора
+ * id. Несуществующие id лежат в промежутке перед последним пользователем; с {@code filter=false} фильтр id
+ * не перестраивается после его добавления, и все такие запросы идут в базу.
+ * После каждой итерации печатается число запросов к базе на вызов.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotFoundBenchmark {
+    @Param({"true", "false"})
+    public boolean filter;
+
+    @Param("0.9")
+    public double missRate;
+
+    private UserService service;
+    private Statistics statistics;
+    private long firstMissing;
+    private long missing;
+    private long calls;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        service = server.bean(UserService.class);
+        statistics = server.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        JdbcTemplate jdbcTemplate = server.bean(JdbcTemplate.class);
+        long users = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        firstMissing = users + 1;
+        missing = users;
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", firstMissing + missing,
+                "last", "last@mail.ru");
+        if (filter) {
+            server.bean(IdFilters.class).rebuild();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        calls = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatements() {
+        System.out.printf("%nзапросов к базе на вызов: %.2f%n", (double) statistics.getPrepareStatementCount() / calls);
+    }
+
+    @Benchmark
+    public User lookup(ServerState server) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextDouble() < missRate
+                ? firstMissing + random.nextLong(missing)
+                : server.dataset().randomBooker();
+        calls++;
+        try {
+            return service.getUser(id);
+        } catch (NotFoundException e) {
+            return null;
+        }
+    }
+}
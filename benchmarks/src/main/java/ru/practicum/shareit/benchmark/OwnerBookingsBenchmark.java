@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Первая страница бронирований владельца: прежний запрос через соединение с вещами и пользователями против
+ * фильтра по {@code bookings.owner_id} с индексом {@code (owner_id, start_date)}. Запросы выполняются SQL
+ * напрямую, без Hibernate, чтобы сравнивались только планы; планы обоих печатаются перед измерением.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class OwnerBookingsBenchmark {
+    private static final int ITEMS_PER_OWNER = 20;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final String JOIN = "SELECT b.* FROM bookings b " +
+            "LEFT JOIN items i ON i.id = b.item_id " +
+            "LEFT JOIN users u ON i.owner_id = u.id " +
+            "WHERE u.id = ? ORDER BY b.start_date DESC LIMIT 20";
+    private static final String OWNER_COLUMN = "SELECT b.* FROM bookings b " +
+            "WHERE b.owner_id = ? ORDER BY b.start_date DESC LIMIT 20";
+
+    @Param({"10000", "100000", "1000000"})
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+    private Dataset dataset;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerState.startServer();
+        dataset = ServerState.generate(context, 42, DatasetSize.builder()
+                .owners(bookings / (ITEMS_PER_OWNER * BOOKINGS_PER_ITEM))
+                .bookers(500)
+                .itemsPerOwner(ITEMS_PER_OWNER)
+                .bookingsPerItem(BOOKINGS_PER_ITEM)
+                .build());
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("ANALYZE");
+        long owner = dataset.randomOwner();
+        System.out.printf("%njoin:%n%s%nownerColumn:%n%s%n", explain(JOIN, owner), explain(OWNER_COLUMN, owner));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> join() {
+        return jdbcTemplate.queryForList(JOIN, dataset.randomOwner());
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> ownerColumn() {
+        return jdbcTemplate.queryForList(OWNER_COLUMN, dataset.randomOwner());
+    }
+
+    private String explain(String sql, long owner) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, owner);
+    }
+}
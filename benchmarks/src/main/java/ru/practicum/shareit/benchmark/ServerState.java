@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.lookup.IdFilters;
+
+import java.util.Map;
+
+/**
+ * Контекст сервера без веб-слоя поверх H2 в памяти, заполненной {@link DatasetGenerator}.
+ * Размеры набора данных задаются параметрами JMH, например {@code -p owners=500 -p bookingsPerItem=50}.
+ */
+@State(Scope.Benchmark)
+public class ServerState {
+    @Param("100")
+    public int owners;
+
+    @Param("500")
+    public int bookers;
+
+    @Param("20")
+    public int itemsPerOwner;
+
+    @Param("10")
+    public int bookingsPerItem;
+
+    @Param("3")
+    public int commentsPerItem;
+
+    @Param("2")
+    public int requestsPerBooker;
+
+    @Param("0")
+    public double skew;
+
+    @Param("42")
+    public long seed;
+
+    private ConfigurableApplicationContext context;
+    private Dataset dataset;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = startServer();
+        dataset = generate(context, seed, DatasetSize.builder()
+                .owners(owners)
+                .bookers(bookers)
+                .itemsPerOwner(itemsPerOwner)
+                .bookingsPerItem(bookingsPerItem)
+                .commentsPerItem(commentsPerItem)
+                .requestsPerBooker(requestsPerBooker)
+                .skew(skew)
+                .build());
+    }
+
+    /**
+     * Для бенчмарков, которым нужен свой набор данных, а не общий из параметров этого состояния.
+     */
+    static ConfigurableApplicationContext startServer() {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .properties(Map.of("logging.level.root", "WARN"))
+                .run();
+    }
+
+    static Dataset generate(ConfigurableApplicationContext context, long seed, DatasetSize size) {
+        Dataset dataset = new DatasetGenerator(context.getBean(JdbcTemplate.class), seed).generate(size);
+        context.getBean(ItemSearchIndex.class).rebuild();
+        context.getBean(IdFilters.class).rebuild();
+        return dataset;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Dataset dataset() {
+        return dataset;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.service.UserCache;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список бронирований владельца, когда владелец уже в кэше пользователей и когда запись сброшена перед вызовом.
+ * После каждой итерации печатается число запросов к базе на вызов.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserCacheBenchmark {
+    @Param("20")
+    public int pageSize;
+
+    private BookingService service;
+    private UserCache cache;
+    private Statistics statistics;
+    private long calls;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+        service = server.bean(BookingService.class);
+        cache = server.bean(UserCache.class);
+        statistics = server.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        calls = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatements() {
+        System.out.printf("%nзапросов к базе на вызов: %.2f%n", (double) statistics.getPrepareStatementCount() / calls);
+    }
+
+    @Benchmark
+    public List<BookingDto> cachedOwner(ServerState server) {
+        calls++;
+        return service.getAllByOwner(server.dataset().randomOwner(), "ALL", 0, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingDto> evictedOwner(ServerState server) {
+        long owner = server.dataset().randomOwner();
+        cache.invalidate(owner);
+        calls++;
+        return service.getAllByOwner(owner, "ALL", 0, pageSize);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Выбирает позицию от 0 до n - 1 с вероятностью, обратно пропорциональной (позиция + 1) в степени skew.
+ * При skew = 0 распределение равномерное, при skew около 1 несколько первых позиций получают большую часть выборок.
+ */
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double skew) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Размер выборки должен быть положительным.");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
@@ -23,45 +24,47 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                    @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingByOwner(@Positive @RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                       @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                       @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                       @Positive @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getAllBookingByOwner(@Positive @RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                             @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                             @Positive @RequestParam(defaultValue = "10") int size,
+                                                             @RequestParam(required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking for owner with state {}, userId={}, from={}, size={}", stateParam, ownerId, from, size);
-        return bookingClient.getBookingsByOwner(ownerId, state, from, size);
+        log.info("Get booking for owner with state {}, userId={}, from={}, size={}, cursor={}", stateParam, ownerId, from, size, cursor);
+        return bookingClient.getBookingsByOwner(ownerId, state, from, size, cursor);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                @Positive @PathVariable long bookingId,
-                                                @NotNull @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBooking(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @Positive @PathVariable long bookingId,
+                                                      @NotNull @RequestParam Boolean approved) {
         log.info("Updating booking with userId={}, bookingId={}, approved={}", userId, bookingId, approved);
         return bookingClient.updateBooking(userId, bookingId, approved);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                             @Positive @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Positive @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
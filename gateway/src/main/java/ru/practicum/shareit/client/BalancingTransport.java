@@ -0,0 +1,178 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Распределяет запросы между экземплярами сервера из {@code shareit-server.url} (через запятую):
+ * из двух случайных доступных экземпляров выбирается тот, у которого меньше запросов в работе.
+ * Экземпляр выводится из работы, пока {@code /actuator/health} не отвечает 2xx, и на
+ * {@code ejection-time} после {@code max-failures} ошибок подряд. Ошибкой считается и запрос, отменённый
+ * по предельному времени ответа, но не проигравшая попытка повтора ({@link Superseded}). Если недоступны
+ * все, запросы всё равно отправляются, чтобы ответ дал сам сервер.
+ */
+@Slf4j
+public class BalancingTransport implements UpstreamTransport {
+    final UpstreamTransport delegate;
+
+    private final List<ServerInstance> instances;
+    private final UpstreamBalancerProperties properties;
+    private final LongSupplier clock;
+    private final HttpClient probeClient;
+    private ScheduledExecutorService prober;
+
+    public BalancingTransport(UpstreamTransport delegate, List<String> urls, UpstreamBalancerProperties properties,
+                              MeterRegistry meterRegistry) {
+        this(delegate, urls, properties, meterRegistry, System::nanoTime);
+    }
+
+    BalancingTransport(UpstreamTransport delegate, List<String> urls, UpstreamBalancerProperties properties,
+                       MeterRegistry meterRegistry, LongSupplier clock) {
+        this.delegate = delegate;
+        this.instances = urls.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> new ServerInstance(url.endsWith("/") ? url.substring(0, url.length() - 1) : url))
+                .collect(toList());
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один адрес сервера в shareit-server.url");
+        }
+        this.properties = properties;
+        this.clock = clock;
+        this.probeClient = HttpClient.newBuilder().connectTimeout(properties.getProbeTimeout()).build();
+        for (ServerInstance instance : instances) {
+            Gauge.builder("gateway.upstream.outstanding", instance, ServerInstance::outstanding)
+                    .tag("instance", instance.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.upstream.available", instance, i -> i.isAvailable(clock.getAsLong()) ? 1 : 0)
+                    .tag("instance", instance.getUrl())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Проверки здоровья нужны, только когда есть из чего выбирать.
+     */
+    public void start() {
+        if (instances.size() < 2) {
+            return;
+        }
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getProbeInterval().toMillis();
+        prober.scheduleWithFixedDelay(this::probe, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.deferContextual(context -> {
+            ServerInstance instance = choose();
+            instance.acquire();
+            return delegate.exchange(method, instance.getUrl() + path, headers, parameters, body)
+                    .doOnNext(response -> record(instance, HttpStatus.Series.resolve(response.getStatusCodeValue())
+                            != HttpStatus.Series.SERVER_ERROR))
+                    .doOnError(e -> record(instance, false))
+                    .doOnCancel(() -> {
+                        if (!Superseded.isSet(context)) {
+                            record(instance, false);
+                        }
+                    })
+                    .doFinally(signal -> instance.release());
+        });
+    }
+
+    ServerInstance choose() {
+        int size = instances.size();
+        if (size == 1) {
+            return instances.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerInstance a = instances.get(first);
+        ServerInstance b = instances.get(second);
+        long now = clock.getAsLong();
+        boolean aAvailable = a.isAvailable(now);
+        boolean bAvailable = b.isAvailable(now);
+        if (aAvailable != bAvailable) {
+            return aAvailable ? a : b;
+        }
+        if (!aAvailable) {
+            for (ServerInstance instance : instances) {
+                if (instance.isAvailable(now)) {
+                    return instance;
+                }
+            }
+        }
+        return a.outstanding() <= b.outstanding() ? a : b;
+    }
+
+    void probe() {
+        for (ServerInstance instance : instances) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(instance.getUrl() + "/actuator/health"))
+                    .timeout(properties.getProbeTimeout())
+                    .GET()
+                    .build();
+            probeClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> setHealthy(instance,
+                            e == null && response.statusCode() >= 200 && response.statusCode() < 300));
+        }
+    }
+
+    private void setHealthy(ServerInstance instance, boolean healthy) {
+        if (instance.isHealthy() && !healthy) {
+            log.warn("Сервер {} не прошёл проверку здоровья", instance.getUrl());
+        } else if (!instance.isHealthy() && healthy) {
+            log.info("Сервер {} снова доступен", instance.getUrl());
+        }
+        instance.setHealthy(healthy);
+    }
+
+    private void record(ServerInstance instance, boolean success) {
+        if (success) {
+            instance.recordSuccess();
+        } else if (instance.recordFailure(clock.getAsLong(), properties.getMaxFailures(),
+                properties.getEjectionTime().toNanos())) {
+            log.warn("Сервер {} исключён на {} после {} ошибок подряд", instance.getUrl(),
+                    properties.getEjectionTime(), properties.getMaxFailures());
+        }
+    }
+
+    List<ServerInstance> instances() {
+        return instances;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одинаковые одновременные GET-запросы (путь, параметры и пользователь) в один запрос к серверу,
+ * ответ которого получают все ожидающие. После ответа он ещё {@code shareit-server.coalescing.window} отдаётся
+ * новым таким же запросам; при нулевом окне объединяются только запросы, пришедшие до ответа сервера.
+ * Сэкономленные запросы считаются в метрике {@code gateway.requests.coalesced}.
+ */
+@Component
+public class RequestCoalescer {
+    private final ConcurrentMap<Key, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.window:0ms}") Duration window,
+                            MeterRegistry meterRegistry) {
+        this.window = window;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<ResponseEntity<Object>> coalesce(String client, String path, long userId,
+                                                 @Nullable Map<String, Object> parameters,
+                                                 Supplier<Mono<ResponseEntity<Object>>> call) {
+        Key key = new Key(client + path, parameters, userId);
+        Flight flight = inFlight.get(key);
+        if (flight == null) {
+            Flight created = new Flight(key, call.get());
+            flight = inFlight.putIfAbsent(key, created);
+            if (flight == null) {
+                return created.response;
+            }
+        }
+        meterRegistry.counter("gateway.requests.coalesced", "client", client).increment();
+        return flight.response;
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private void release(Key key, Flight flight) {
+        if (window.isZero()) {
+            inFlight.remove(key, flight);
+        } else {
+            Mono.delay(window).subscribe(tick -> inFlight.remove(key, flight));
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final String path;
+        private final Map<String, Object> parameters;
+        private final long userId;
+    }
+
+    private final class Flight {
+        private final Mono<ResponseEntity<Object>> response;
+
+        private Flight(Key key, Mono<ResponseEntity<Object>> call) {
+            this.response = call.doFinally(signal -> release(key, this)).cache();
+        }
+    }
+}
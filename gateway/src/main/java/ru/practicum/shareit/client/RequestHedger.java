@@ -0,0 +1,153 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Если сервер не ответил на GET-запрос за время, в которое укладывается {@code shareit-server.hedging.percentile}
+ * ответов этого клиента, отправляет такой же запрос ещё раз и отдаёт первый полученный ответ. Балансировщик
+ * отправит повтор на менее загруженный экземпляр, то есть обычно не на тот, что задерживает ответ.
+ * Каждый запрос пополняет бюджет на {@code budget} повтора, каждый повтор его тратит, поэтому при общем
+ * замедлении сервера нагрузка вырастет не больше чем на эту долю.
+ * <p>
+ * Блокирующий транспорт выполняет запрос в подписавшемся потоке и не вернул бы из {@code subscribe} ответ на
+ * повтор раньше основного, поэтому при включённых повторах оба запроса выполняются в {@code upstreamScheduler}:
+ * для блокирующего транспорта это пул по потоку на соединение, для неблокирующего запрос остаётся на месте.
+ */
+@Component
+public class RequestHedger {
+    private static final int MIN_SAMPLES = 20;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long TOKEN = 1000;
+    private static final long MAX_BALANCE = 100 * TOKEN;
+
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+    private final UpstreamHedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler scheduler;
+    private final long deposit;
+
+    public RequestHedger(UpstreamHedgingProperties properties, MeterRegistry meterRegistry,
+                         Scheduler upstreamScheduler) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.scheduler = upstreamScheduler;
+        this.deposit = Math.round(properties.getBudget() * TOKEN);
+    }
+
+    public Mono<ResponseEntity<Object>> hedge(String client, Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        Stats clientStats = stats.computeIfAbsent(client, Stats::new);
+        return Mono.defer(() -> {
+            clientStats.deposit();
+            Mono<ResponseEntity<Object>> primary = clientStats.timed(call.get());
+            Duration delay = clientStats.delay();
+            if (delay == null) {
+                return primary;
+            }
+            Superseded primaryLost = new Superseded();
+            Superseded hedgeLost = new Superseded();
+            primary = primary.subscribeOn(scheduler)
+                    .doOnNext(response -> hedgeLost.set())
+                    .doOnError(e -> hedgeLost.set())
+                    .contextWrite(primaryLost::in);
+            Mono<ResponseEntity<Object>> hedged = Mono.delay(delay)
+                    .flatMap(tick -> {
+                        if (!clientStats.withdraw()) {
+                            clientStats.rejected.increment();
+                            return Mono.never();
+                        }
+                        clientStats.hedged.increment();
+                        return call.get()
+                                .subscribeOn(scheduler)
+                                .doOnNext(response -> {
+                                    clientStats.won.increment();
+                                    primaryLost.set();
+                                })
+                                .contextWrite(hedgeLost::in)
+                                .onErrorResume(e -> Mono.never());
+                    });
+            return Mono.firstWithSignal(hedged, primary);
+        });
+    }
+
+    private final class Stats {
+        private final Timer latency;
+        private final Counter hedged;
+        private final Counter won;
+        private final Counter rejected;
+        private final AtomicLong balance = new AtomicLong();
+        private volatile long refreshedAt = System.nanoTime() - REFRESH_NANOS;
+        private volatile Duration delay;
+
+        private Stats(String client) {
+            latency = Timer.builder("gateway.upstream.latency")
+                    .tag("client", client)
+                    .publishPercentiles(properties.getPercentile())
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+            hedged = meterRegistry.counter("gateway.requests.hedged", "client", client);
+            won = meterRegistry.counter("gateway.requests.hedge.won", "client", client);
+            rejected = meterRegistry.counter("gateway.requests.hedge.rejected", "client", client);
+        }
+
+        /**
+         * Время учитывается и для отменённых запросов, иначе самые медленные ответы, на которые пришёл
+         * повтор, выпали бы из статистики и задержка повтора постепенно сокращалась бы.
+         */
+        private Mono<ResponseEntity<Object>> timed(Mono<ResponseEntity<Object>> call) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return call.doFinally(signal -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            });
+        }
+
+        @Nullable
+        private Duration delay() {
+            long now = System.nanoTime();
+            if (now - refreshedAt >= REFRESH_NANOS || delay == null && latency.count() >= MIN_SAMPLES) {
+                refreshedAt = now;
+                delay = latency.count() < MIN_SAMPLES ? null : percentileDelay();
+            }
+            return delay;
+        }
+
+        private Duration percentileDelay() {
+            ValueAtPercentile[] values = latency.takeSnapshot().percentileValues();
+            long nanos = values.length > 0 ? (long) values[0].value(TimeUnit.NANOSECONDS) : 0;
+            Duration percentile = Duration.ofNanos(nanos);
+            return percentile.compareTo(properties.getMinDelay()) > 0 ? percentile : properties.getMinDelay();
+        }
+
+        private void deposit() {
+            balance.accumulateAndGet(deposit, (current, amount) -> Math.min(current + amount, MAX_BALANCE));
+        }
+
+        private boolean withdraw() {
+            long current;
+            do {
+                current = balance.get();
+                if (current < TOKEN) {
+                    return false;
+                }
+            } while (!balance.compareAndSet(current, current - TOKEN));
+            return true;
+        }
+    }
+}
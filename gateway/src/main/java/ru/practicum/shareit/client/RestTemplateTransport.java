@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Блокирующий транспорт: запрос выполняется в потоке Tomcat на время всего обращения к серверу.
+ * Для клиента из контекста ({@link UpstreamTransport#CLIENT}) берётся свой {@code RestTemplate}, например
+ * с таймаутом чтения по предельному времени ответа клиента; без клиента — общий.
+ */
+public class RestTemplateTransport implements UpstreamTransport {
+    final RestTemplate rest;
+
+    private final Function<String, RestTemplate> clientRest;
+    private final ConcurrentMap<String, RestTemplate> clients = new ConcurrentHashMap<>();
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this(rest, client -> rest);
+    }
+
+    public RestTemplateTransport(RestTemplate rest, Function<String, RestTemplate> clientRest) {
+        this.rest = rest;
+        this.clientRest = clientRest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.deferContextual(context -> {
+            String client = context.getOrDefault(CLIENT, null);
+            RestTemplate template = client != null ? rest(client) : rest;
+            return Mono.fromCallable(() -> send(template, method, path, new HttpEntity<>(body, headers), parameters));
+        });
+    }
+
+    RestTemplate rest(String client) {
+        return clients.computeIfAbsent(client, clientRest);
+    }
+
+    private static ResponseEntity<Object> send(RestTemplate rest, HttpMethod method, String path,
+                                               HttpEntity<Object> requestEntity, @Nullable Map<String, Object> parameters) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (RestClientResponseException e) {
+            return UpstreamResponses.relay(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return UpstreamResponses.relay(shareitServerResponse.getStatusCodeValue(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Экземпляр сервера: число запросов в работе, результат последней проверки здоровья
+ * и время, до которого он исключён из-за ошибок подряд.
+ */
+final class ServerInstance {
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile boolean ejected;
+    private volatile long ejectedUntil;
+
+    ServerInstance(String url) {
+        this.url = url;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    boolean isAvailable(long now) {
+        return healthy && !isEjected(now);
+    }
+
+    private boolean isEjected(long now) {
+        return ejected && now - ejectedUntil < 0;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * @return {@code true}, если экземпляр исключён этой ошибкой
+     */
+    boolean recordFailure(long now, int maxFailures, long ejectionNanos) {
+        if (consecutiveFailures.incrementAndGet() < maxFailures) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        boolean wasEjected = isEjected(now);
+        ejectedUntil = now + ejectionNanos;
+        ejected = true;
+        return !wasEjected;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Отметка попытки запроса, которую отменяют потому, что ответ уже пришёл на другую попытку. Передаётся
+ * в контексте Reactor: отмену такой попытки балансировщик не считает ошибкой экземпляра сервера.
+ */
+final class Superseded {
+    private volatile boolean set;
+
+    void set() {
+        set = true;
+    }
+
+    Context in(Context context) {
+        return context.put(Superseded.class, this);
+    }
+
+    static boolean isSet(ContextView context) {
+        Superseded superseded = context.getOrDefault(Superseded.class, null);
+        return superseded != null && superseded.set;
+    }
+}
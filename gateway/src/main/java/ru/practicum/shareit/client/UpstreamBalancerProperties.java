@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Проверка и исключение экземпляров сервера, когда в {@code shareit-server.url} их перечислено несколько.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UpstreamBalancerProperties {
+    Duration probeInterval = Duration.ofSeconds(5);
+
+    Duration probeTimeout = Duration.ofSeconds(1);
+
+    int maxFailures = 5;
+
+    Duration ejectionTime = Duration.ofSeconds(30);
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Повторная отправка медленных GET-запросов: задержка берётся из перцентиля времени ответа сервера,
+ * не меньше {@code min-delay}, а число повторов ограничено долей {@code budget} от всех запросов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.hedging")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UpstreamHedgingProperties {
+    boolean enabled = false;
+
+    double percentile = 0.95;
+
+    Duration minDelay = Duration.ofMillis(10);
+
+    double budget = 0.05;
+}
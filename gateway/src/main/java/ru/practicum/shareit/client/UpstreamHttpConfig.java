@@ -0,0 +1,188 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Транспорт к серверу; адреса в {@code shareit-server.url} задаются через запятую,
+ * запросы между ними распределяет {@link BalancingTransport}.
+ */
+@Configuration
+@EnableConfigurationProperties({UpstreamHttpProperties.class, UpstreamBalancerProperties.class,
+        UpstreamHedgingProperties.class})
+public class UpstreamHttpConfig {
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+    static class Blocking {
+
+        @Bean
+        public PoolingHttpClientConnectionManager upstreamConnectionManager(UpstreamHttpProperties properties) {
+            PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+            manager.setMaxTotal(properties.getMaxTotal());
+            manager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+            manager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+            return manager;
+        }
+
+        @Bean
+        public RequestConfig upstreamRequestConfig(UpstreamHttpProperties properties) {
+            return RequestConfig.custom()
+                    .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                    .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                    .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                    .build();
+        }
+
+        @Bean
+        public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager manager,
+                                                      RequestConfig upstreamRequestConfig,
+                                                      UpstreamHttpProperties properties) {
+            HttpClientBuilder builder = HttpClients.custom()
+                    .setConnectionManager(manager)
+                    .setDefaultRequestConfig(upstreamRequestConfig)
+                    .setKeepAliveStrategy((response, context) -> {
+                        long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                        return keepAlive > 0 ? keepAlive : properties.getKeepAlive().toMillis();
+                    })
+                    .evictExpiredConnections()
+                    .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (!properties.isCompression()) {
+                builder.disableContentCompression();
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public ClientHttpRequestFactory upstreamRequestFactory(CloseableHttpClient upstreamHttpClient) {
+            return new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+        }
+
+        @Bean
+        public MeterBinder upstreamPoolMetrics(PoolingHttpClientConnectionManager manager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(manager, "shareit-server");
+        }
+
+        /**
+         * Потоки для блокирующих запросов, которые {@link RequestHedger} уводит с потока Tomcat: по одному на
+         * соединение пула, чтобы повторы не ограничивали число одновременных запросов к серверу.
+         */
+        @Bean(destroyMethod = "dispose")
+        public Scheduler upstreamScheduler(UpstreamHttpProperties properties) {
+            return Schedulers.newBoundedElastic(properties.getMaxTotal(), Integer.MAX_VALUE, "shareit-server");
+        }
+
+        /**
+         * Блокирующий вызов нельзя прервать по таймауту Reactor, поэтому предельное время ответа клиента
+         * дополнительно ограничивает ожидание данных от сервера на уровне сокета. Клиентам достаются свои
+         * фабрики запросов поверх общего пула соединений.
+         */
+        @Bean(initMethod = "start", destroyMethod = "close")
+        public BalancingTransport upstreamTransport(@Value("${shareit-server.url}") List<String> serverUrls,
+                                                    RestTemplateBuilder builder,
+                                                    ClientHttpRequestFactory upstreamRequestFactory,
+                                                    CloseableHttpClient upstreamHttpClient,
+                                                    RequestConfig upstreamRequestConfig,
+                                                    UpstreamPolicies policies,
+                                                    UpstreamBalancerProperties balancerProperties,
+                                                    MeterRegistry meterRegistry) {
+            RestTemplateBuilder upstream = builder.uriTemplateHandler(new DefaultUriBuilderFactory());
+            RestTemplateTransport transport = new RestTemplateTransport(
+                    upstream.requestFactory(() -> upstreamRequestFactory).build(),
+                    client -> upstream.requestFactory(() -> clientRequestFactory(upstreamHttpClient,
+                            upstreamRequestConfig, policies.timeout(client))).build());
+            return new BalancingTransport(transport, serverUrls, balancerProperties, meterRegistry);
+        }
+
+        private static ClientHttpRequestFactory clientRequestFactory(CloseableHttpClient upstreamHttpClient,
+                                                                     RequestConfig upstreamRequestConfig,
+                                                                     Duration timeout) {
+            RequestConfig config = RequestConfig.copy(upstreamRequestConfig)
+                    .setSocketTimeout((int) Math.min(timeout.toMillis(), upstreamRequestConfig.getSocketTimeout()))
+                    .build();
+            HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+            factory.setHttpContextFactory((method, uri) -> {
+                HttpClientContext context = HttpClientContext.create();
+                context.setRequestConfig(config);
+                return context;
+            });
+            return factory;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+    static class Reactive {
+
+        /**
+         * Пул Netty метрики публикует сам, под именами {@code reactor.netty.connection.provider.*}.
+         */
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider upstreamConnectionProvider(UpstreamHttpProperties properties) {
+            return ConnectionProvider.builder("shareit-server")
+                    .maxConnections(properties.getMaxPerRoute())
+                    .pendingAcquireMaxCount(-1)
+                    .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                    .maxIdleTime(properties.getIdleTimeout())
+                    .evictInBackground(properties.getIdleTimeout())
+                    .metrics(true)
+                    .build();
+        }
+
+        /**
+         * Неблокирующий транспорт не занимает подписавшийся поток, уводить запросы с него не нужно.
+         */
+        @Bean
+        public Scheduler upstreamScheduler() {
+            return Schedulers.immediate();
+        }
+
+        @Bean(initMethod = "start", destroyMethod = "close")
+        public BalancingTransport upstreamTransport(@Value("${shareit-server.url}") List<String> serverUrls,
+                                                    WebClient.Builder builder,
+                                                    ConnectionProvider upstreamConnectionProvider,
+                                                    UpstreamHttpProperties properties,
+                                                    UpstreamBalancerProperties balancerProperties,
+                                                    MeterRegistry meterRegistry) {
+            HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                    .responseTimeout(properties.getReadTimeout())
+                    .compress(properties.isCompression());
+            WebClientTransport transport = new WebClientTransport(builder
+                    .uriBuilderFactory(new DefaultUriBuilderFactory())
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .codecs(codecs -> codecs.defaultCodecs()
+                            .maxInMemorySize((int) properties.getMaxInMemorySize().toBytes()))
+                    .build());
+            return new BalancingTransport(transport, serverUrls, balancerProperties, meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула соединений gateway с сервером.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UpstreamHttpProperties {
+    int maxTotal = 200;
+
+    int maxPerRoute = 200;
+
+    Duration connectTimeout = Duration.ofSeconds(2);
+
+    Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    Duration readTimeout = Duration.ofSeconds(30);
+
+    Duration keepAlive = Duration.ofSeconds(60);
+
+    Duration idleTimeout = Duration.ofSeconds(30);
+
+    Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Запрашивать у сервера ответ в gzip; распаковывает его сам HTTP-клиент.
+     */
+    boolean compression = true;
+
+    /**
+     * Наибольший ответ сервера, который неблокирующий транспорт собирает в памяти; по умолчанию WebClient
+     * ограничен 256 КБ, а список из тысячи бронирований больше.
+     */
+    DataSize maxInMemorySize = DataSize.ofMegabytes(16);
+}
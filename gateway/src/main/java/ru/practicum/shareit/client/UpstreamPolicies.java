@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Политики вызова сервера для каждого клиента ({@code bookings}, {@code items}, {@code users}, {@code requests}):
+ * автомат отключения, ограничение одновременных запросов и предельное время ответа.
+ * Настраиваются свойствами {@code resilience4j.*.instances.<клиент>}. Ответы сервера 5xx автомат
+ * считает ошибками, но клиенту они передаются как есть.
+ */
+@Slf4j
+@Component
+public class UpstreamPolicies {
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final TimeLimiterRegistry timeLimiters;
+
+    public UpstreamPolicies(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads,
+                            TimeLimiterRegistry timeLimiters) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.timeLimiters = timeLimiters;
+        circuitBreakers.getAllCircuitBreakers().forEach(UpstreamPolicies::logTransitions);
+        circuitBreakers.getEventPublisher().onEntryAdded(event -> logTransitions(event.getAddedEntry()));
+    }
+
+    public Mono<ResponseEntity<Object>> apply(String client, Mono<ResponseEntity<Object>> call) {
+        return call.flatMap(UpstreamPolicies::failOnServerError)
+                .transformDeferred(TimeLimiterOperator.of(timeLimiters.timeLimiter(client)))
+                .transformDeferred(BulkheadOperator.of(bulkheads.bulkhead(client)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakers.circuitBreaker(client)))
+                .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.getResponse()));
+    }
+
+    public Duration timeout(String client) {
+        return timeLimiters.timeLimiter(client).getTimeLimiterConfig().getTimeoutDuration();
+    }
+
+    private static Mono<ResponseEntity<Object>> failOnServerError(ResponseEntity<Object> response) {
+        return HttpStatus.Series.resolve(response.getStatusCodeValue()) == HttpStatus.Series.SERVER_ERROR
+                ? Mono.error(new ServerErrorResponse(response))
+                : Mono.just(response);
+    }
+
+    private static void logTransitions(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> log.warn("Автомат отключения {}: {}",
+                event.getCircuitBreakerName(), event.getStateTransition()));
+    }
+
+    @Getter
+    private static class ServerErrorResponse extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        ServerErrorResponse(ResponseEntity<Object> response) {
+            super("Сервер ответил " + response.getStatusCodeValue(), null, false, false);
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Ответ сервера передаётся клиенту как есть: статус, заголовки и тело в байтах, без разбора JSON.
+ * Заголовки соединения не передаются, длину тела заново выставляет Tomcat.
+ */
+final class UpstreamResponses {
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE, HttpHeaders.CONTENT_LENGTH);
+
+    private UpstreamResponses() {
+    }
+
+    static ResponseEntity<Object> relay(int status, @Nullable HttpHeaders upstreamHeaders, @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (upstreamHeaders != null) {
+            headers.addAll(upstreamHeaders);
+            HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status).headers(headers);
+        return body != null && body.length > 0 ? response.body(body) : response.build();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Отправка запроса на сервер. Реализация выбирается свойством {@code shareit-server.transport}:
+ * {@code blocking} (RestTemplate, по умолчанию) или {@code reactive} (WebClient поверх Netty).
+ * Тело ответа не разбирается, а передаётся клиенту массивом байт вместе со статусом и заголовками,
+ * в том числе для ответов с ошибкой.
+ */
+public interface UpstreamTransport {
+    /**
+     * Ключ контекста Reactor, под которым {@link BaseClient} передаёт имя клиента ({@code bookings}, {@code items}...).
+     */
+    String CLIENT = "shareit-server.client";
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+}
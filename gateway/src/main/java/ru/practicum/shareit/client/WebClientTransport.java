@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Неблокирующий транспорт: поток Tomcat освобождается, пока ответ сервера ожидается в event loop Netty.
+ */
+public class WebClientTransport implements UpstreamTransport {
+    private final WebClient webClient;
+
+    public WebClientTransport(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(response -> {
+            int status = response.rawStatusCode();
+            HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+            return response.bodyToMono(byte[].class)
+                    .map(bytes -> UpstreamResponses.relay(status, responseHeaders, bytes))
+                    .defaultIfEmpty(UpstreamResponses.relay(status, responseHeaders, null));
+        });
+    }
+}
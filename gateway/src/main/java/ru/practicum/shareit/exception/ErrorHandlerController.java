@@ -1,13 +1,21 @@
 package ru.practicum.shareit.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import javax.validation.ConstraintViolationException;
+import java.net.SocketTimeoutException;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @RestControllerAdvice
@@ -30,4 +38,43 @@ public class ErrorHandlerController {
                 "error", e.getMessage()
         );
     }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleTooManyRequestsException(final TooManyRequestsException e) {
+        log.debug("Получен статус 429 Too many requests {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleUpstreamRejection(final RuntimeException e) {
+        log.debug("Получен статус 503 Service unavailable {}", e.getMessage());
+        return Map.of(
+                "error", "Сервер временно недоступен",
+                "errorMessage", e.getMessage()
+        );
+    }
+
+    @ExceptionHandler({ResourceAccessException.class, WebClientRequestException.class})
+    public ResponseEntity<Map<String, String>> handleUpstreamUnavailable(final RuntimeException e) {
+        if (e.getCause() instanceof SocketTimeoutException) {
+            return gatewayTimeout(e);
+        }
+        log.warn("Получен статус 503 Service unavailable {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Сервер недоступен"));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleUpstreamTimeout(final TimeoutException e) {
+        return gatewayTimeout(e);
+    }
+
+    private ResponseEntity<Map<String, String>> gatewayTimeout(final Exception e) {
+        log.warn("Получен статус 504 Gateway timeout {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(Map.of("error", "Сервер не ответил вовремя"));
+    }
 }
@@ -1,13 +1,14 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.RequestHedger;
+import ru.practicum.shareit.client.UpstreamPolicies;
+import ru.practicum.shareit.client.UpstreamTransport;
 
 import java.util.Map;
 
@@ -15,47 +16,48 @@ import java.util.Map;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    private final RequestCoalescer coalescer;
+
+    public ItemClient(UpstreamTransport transport, UpstreamPolicies policies, RequestHedger hedger,
+                      RequestCoalescer coalescer) {
+        super(transport, API_PREFIX, policies, hedger);
+        this.coalescer = coalescer;
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> createComment(long itemId, long userId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(long itemId, long userId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
-    public ResponseEntity<Object> getItems(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItems(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return coalescedGet("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(long userId, long itemId) {
+        return coalescedGet("/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> searchText(long userId, String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> searchText(long userId, String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return coalescedGet("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
-}
 
+    private Mono<ResponseEntity<Object>> coalescedGet(String path, long userId, @Nullable Map<String, Object> parameters) {
+        return coalescer.coalesce(API_PREFIX, path, userId, parameters, () -> get(path, userId, parameters));
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.validation.Create;
 import ru.practicum.shareit.validation.Update;
 
@@ -21,46 +22,46 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId, @Validated(Create.class) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> createItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId, @Validated(Create.class) @RequestBody ItemDto itemDto) {
         log.info("Creating item {}, userId={}", itemDto, userId);
         return itemClient.createItem(userId, itemDto);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                @Positive @PathVariable long itemId,
-                                                @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @Positive @PathVariable long itemId,
+                                                      @Valid @RequestBody CommentDto commentDto) {
         return itemClient.createComment(itemId, userId, commentDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                             @Positive @PathVariable long itemId,
-                                             @Validated(Update.class) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Positive @PathVariable long itemId,
+                                                   @Validated(Update.class) @RequestBody ItemDto itemDto) {
         log.info("Updating item {}, userId={}", itemDto, userId);
         return itemClient.updateItem(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                          @Positive @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                @Positive @PathVariable long itemId) {
         log.info("Get item {}, userId={}", itemId, userId);
         return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItems(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                           @Positive @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getItems(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                 @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Get items with userId={}, from={}, size={}", userId, from, size);
         return itemClient.getItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam String text,
-                                              @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                              @Positive @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> searchItems(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam String text,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                    @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Get search items with userId={}, from={}, size={}", userId, from, size);
         return itemClient.searchText(userId, text, from, size);
     }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Списывает токен пользователя из заголовка {@code X-Sharer-User-Id} до вызова контроллера.
+ * Запросы без корректного заголовка пропускаются: их отклонит проверка в контроллере.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(USER_HEADER);
+        if (request.getDispatcherType() != DispatcherType.REQUEST || header == null) {
+            return true;
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(header);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        RateLimiter.Kind kind = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? RateLimiter.Kind.READ : RateLimiter.Kind.WRITE;
+        long wait = rateLimiter.tryAcquire(userId, kind);
+        if (wait > 0) {
+            throw new TooManyRequestsException(String.format("Превышен лимит запросов пользователя %d", userId),
+                    TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Корзины токенов по паре пользователь и вид запроса. Полностью пополненная корзина ничем не отличается
+ * от новой, поэтому при разрастании карты такие корзины удаляются — не чаще раза в {@link #PURGE_INTERVAL}
+ * и одним потоком, чтобы обход карты не доставался каждому запросу.
+ */
+public class RateLimiter {
+    static final int PURGE_THRESHOLD = 10_000;
+    static final long PURGE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<Key, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Kind, RateLimitProperties.Limit> limits;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final AtomicLong nextPurge;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.limits = Map.of(Kind.READ, properties.getRead(), Kind.WRITE, properties.getWrite());
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.nextPurge = new AtomicLong(clock.getAsLong());
+        meterRegistry.gaugeMapSize("gateway.ratelimit.buckets", List.of(), buckets);
+    }
+
+    /**
+     * @return 0, если запрос пропущен, иначе через сколько наносекунд пользователь может повторить запрос
+     */
+    public long tryAcquire(long userId, Kind kind) {
+        long now = clock.getAsLong();
+        long next = nextPurge.get();
+        if (buckets.size() > PURGE_THRESHOLD && now - next >= 0 && nextPurge.compareAndSet(next, now + PURGE_INTERVAL)) {
+            purge(now);
+        }
+        RateLimitProperties.Limit limit = limits.get(kind);
+        Key key = new Key(userId, kind);
+        while (true) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getCapacity(), limit.getPerSecond(), now));
+            }
+            long wait = bucket.tryAcquire(now);
+            if (wait == TokenBucket.RETIRED) {
+                buckets.remove(key, bucket);
+                continue;
+            }
+            if (wait > 0) {
+                meterRegistry.counter("gateway.ratelimit.rejected", "kind", kind.name().toLowerCase(Locale.ROOT)).increment();
+            }
+            return wait;
+        }
+    }
+
+    /**
+     * Корзина сначала помечается удалённой и только потом убирается из карты: запрос, успевший её получить,
+     * не спишет в ней токен, а возьмёт новую, поэтому списанный токен не теряется.
+     */
+    private void purge(long now) {
+        buckets.forEach((key, bucket) -> {
+            if (bucket.retire(now)) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    int buckets() {
+        return buckets.size();
+    }
+
+    public enum Kind {
+        READ,
+        WRITE
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final long userId;
+        private final Kind kind;
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов в форме GCRA: всё состояние — теоретическое время следующего запроса,
+ * поэтому токен списывается одной операцией CAS без блокировок.
+ */
+final class TokenBucket {
+    /**
+     * Ответ {@link #tryAcquire} для корзины, которую уже удалили из карты: нужно взять новую.
+     */
+    static final long RETIRED = -1;
+
+    private static final long RETIRED_ARRIVAL = Long.MAX_VALUE;
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double perSecond, long now) {
+        this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        this.tolerance = (capacity - 1) * interval;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0, если токен списан, {@link #RETIRED}, если корзина удалена, иначе через сколько наносекунд
+     * появится следующий токен
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            if (arrival == RETIRED_ARRIVAL) {
+                return RETIRED;
+            }
+            long start = Math.max(arrival, now);
+            long wait = start - tolerance - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+
+    /**
+     * Помечает полную корзину удалённой; после этого она не спишет ни одного токена.
+     *
+     * @return {@code false}, если корзина не полна или уже удалена
+     */
+    boolean retire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            if (arrival == RETIRED_ARRIVAL || arrival > now) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, RETIRED_ARRIVAL)) {
+                return true;
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -19,28 +20,28 @@ public class ItemRequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                @Valid @RequestBody RequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createRequest(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @Valid @RequestBody RequestDto requestDto) {
         return requestClient.createRequest(userId, requestDto);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                             @Positive @PathVariable long requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Positive @PathVariable long requestId) {
         return requestClient.getRequest(userId, requestId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestsByUserId(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                      @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                      @Positive @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getRequestsByUserId(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                            @Positive @RequestParam(defaultValue = "10") int size) {
         return requestClient.getRequestsByUser(userId, from, size);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                 @Positive @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                       @Positive @RequestParam(defaultValue = "10") int size) {
         return requestClient.getAllRequests(userId, from, size);
     }
 }
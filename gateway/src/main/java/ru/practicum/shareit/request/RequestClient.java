@@ -1,13 +1,14 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.RequestHedger;
+import ru.practicum.shareit.client.UpstreamPolicies;
+import ru.practicum.shareit.client.UpstreamTransport;
 
 import java.util.Map;
 
@@ -15,38 +16,39 @@ import java.util.Map;
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    private final RequestCoalescer coalescer;
+
+    public RequestClient(UpstreamTransport transport, UpstreamPolicies policies, RequestHedger hedger,
+                         RequestCoalescer coalescer) {
+        super(transport, API_PREFIX, policies, hedger);
+        this.coalescer = coalescer;
     }
 
-    public ResponseEntity<Object> createRequest(long userId, RequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createRequest(long userId, RequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getRequest(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getRequest(long userId, long requestId) {
+        return coalescedGet("/" + requestId, userId, null);
     }
 
-    public ResponseEntity<Object> getRequestsByUser(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getRequestsByUser(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return coalescedGet("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return coalescedGet("/all?from={from}&size={size}", userId, parameters);
     }
-}
 
+    private Mono<ResponseEntity<Object>> coalescedGet(String path, long userId, @Nullable Map<String, Object> parameters) {
+        return coalescer.coalesce(API_PREFIX, path, userId, parameters, () -> get(path, userId, parameters));
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.validation.Create;
 import ru.practicum.shareit.validation.Update;
 
@@ -19,31 +20,31 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Validated({Create.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(@Validated({Create.class}) @RequestBody UserDto userDto) {
         log.info("Creating user {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@Positive @PathVariable("userId") long id, @Validated({Update.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(@Positive @PathVariable("userId") long id, @Validated({Update.class}) @RequestBody UserDto userDto) {
         log.info("Updating user {}, userId={}", userDto, id);
         return userClient.updateUser(id, userDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@Positive @PathVariable("userId") long id) {
+    public Mono<ResponseEntity<Object>> getUser(@Positive @PathVariable("userId") long id) {
         log.info("Get user userId={}", id);
         return userClient.getUser(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         log.info("Get users");
         return userClient.getUsers();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@Positive @PathVariable("userId") long id) {
+    public Mono<ResponseEntity<Object>> deleteUser(@Positive @PathVariable("userId") long id) {
         log.info("Delete user userId={}", id);
         return userClient.deleteUser(id);
     }
@@ -0,0 +1,80 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json",
+        "server.compression.min-response-size=2KB"
+})
+class ResponseCompressionTest {
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void largeRelayedResponseIsCompressed() throws IOException, InterruptedException {
+        String body = "[" + "{\"id\":1,\"status\":\"APPROVED\"},".repeat(200) + "{\"id\":2}]";
+        serverReturns(body);
+
+        HttpResponse<byte[]> response = send(1);
+
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null),
+                "Большой ответ не сжат");
+        assertTrue(response.body().length < body.length() / 4, "Ответ сжат слабее ожидаемого");
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8), "Тело искажено при сжатии");
+        }
+    }
+
+    @Test
+    void smallResponseIsNotCompressed() throws IOException, InterruptedException {
+        serverReturns("{\"id\":1}");
+
+        HttpResponse<byte[]> response = send(2);
+
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty(), "Сжат ответ меньше порога");
+        assertEquals("{\"id\":1}", new String(response.body(), StandardCharsets.UTF_8), "Тело искажено");
+    }
+
+    private void serverReturns(String body) {
+        when(bookingClient.getBookings(anyLong(), any(), anyInt(), anyInt(), isNull()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private HttpResponse<byte[]> send(long userId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings"))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -11,18 +11,27 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.util.NestedServletException;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,10 +59,10 @@ class BookingControllerTest {
 
     @Test
     void getBookings() throws Exception {
-        when(client.getBookings(anyLong(), any(), anyInt(), anyInt()))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+        when(client.getBookings(anyLong(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingDto)));
 
-        mvc.perform(get("/bookings")
+        performAsync(get("/bookings")
                         .header("X-Sharer-User-Id", 1)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -64,10 +73,10 @@ class BookingControllerTest {
 
     @Test
     void getAllBookingByOwner() throws Exception {
-        when(client.getBookingsByOwner(anyLong(), any(), anyInt(), anyInt()))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+        when(client.getBookingsByOwner(anyLong(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingDto)));
 
-        mvc.perform(get("/bookings/owner")
+        performAsync(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -106,9 +115,9 @@ class BookingControllerTest {
     void updateBooking() throws Exception {
         bookingDto = new BookItemRequestDto(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3));
         when(client.updateBooking(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingDto)));
 
-        mvc.perform(patch("/bookings/1?approved=true")
+        performAsync(patch("/bookings/1?approved=true")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.registerModule(new JavaTimeModule())
                                 .writeValueAsString(bookingDto))
@@ -122,9 +131,9 @@ class BookingControllerTest {
     @Test
     void bookItem() throws Exception {
         when(client.bookItem(anyLong(), any()))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingDto)));
 
-        mvc.perform(post("/bookings")
+        performAsync(post("/bookings")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.registerModule(new JavaTimeModule())
                                 .writeValueAsString(bookingDto))
@@ -138,9 +147,9 @@ class BookingControllerTest {
     @Test
     void getBooking() throws Exception {
         when(client.getBooking(anyLong(), anyLong()))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingDto)));
 
-        mvc.perform(get("/bookings/1")
+        performAsync(get("/bookings/1")
                         .header("X-Sharer-User-Id", 1)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -148,4 +157,40 @@ class BookingControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsWithCursor() throws Exception {
+        when(client.getBookings(anyLong(), any(), anyInt(), anyInt(), anyString()))
+                .thenReturn(Mono.just(ResponseEntity.ok().header("X-Next-Cursor", "next").body(bookingDto)));
+
+        performAsync(get("/bookings?cursor=abc")
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"));
+
+        verify(client).getBookings(1L, BookingState.ALL, 0, 10, "abc");
+    }
+
+    @Test
+    void getBookingsRelaysServerBody() throws Exception {
+        byte[] body = "[{\"id\":1,\"status\":\"WAITING\"}]".getBytes(StandardCharsets.UTF_8);
+        when(client.getBookings(anyLong(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body)));
+
+        performAsync(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
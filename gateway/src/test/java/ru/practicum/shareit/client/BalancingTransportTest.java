@@ -0,0 +1,199 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalancingTransportTest {
+    private static final String FIRST = "http://first:9090";
+    private static final String SECOND = "http://second:9090";
+
+    private final List<String> calledUrls = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    private UpstreamBalancerProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UpstreamBalancerProperties();
+        properties.setMaxFailures(2);
+        properties.setEjectionTime(Duration.ofSeconds(30));
+        properties.setProbeTimeout(Duration.ofSeconds(2));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void requestsGoToLessLoadedInstance() {
+        BalancingTransport transport = transport((method, url, headers, parameters, body) -> {
+            calledUrls.add(url);
+            return Mono.never();
+        });
+
+        List<Disposable> pending = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pending.add(send(transport).subscribe());
+        }
+
+        for (ServerInstance instance : transport.instances()) {
+            assertEquals(2, instance.outstanding(), "Запросы распределены неравномерно");
+        }
+        assertEquals(2, meterRegistry.get("gateway.upstream.outstanding").tag("instance", FIRST).gauge().value(),
+                "Метрика не показывает запросы в работе");
+        pending.forEach(Disposable::dispose);
+        for (ServerInstance instance : transport.instances()) {
+            assertEquals(0, instance.outstanding(), "Отменённый запрос не освободил экземпляр");
+        }
+    }
+
+    @Test
+    void instanceIsEjectedAfterServerErrors() {
+        BalancingTransport transport = transport((method, url, headers, parameters, body) -> {
+            calledUrls.add(url);
+            return Mono.just(ResponseEntity.status(url.startsWith(FIRST) ? 500 : 200).build());
+        });
+
+        for (int i = 0; i < 20; i++) {
+            send(transport).block();
+        }
+        calledUrls.clear();
+        for (int i = 0; i < 10; i++) {
+            send(transport).block();
+        }
+
+        assertTrue(calledUrls.stream().allMatch(url -> url.startsWith(SECOND)),
+                "Запросы отправляются на исключённый экземпляр");
+        assertEquals(0, meterRegistry.get("gateway.upstream.available").tag("instance", FIRST).gauge().value(),
+                "Метрика не показывает исключение экземпляра");
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertTrue(transport.instances().get(0).isAvailable(clock.get()), "Экземпляр не вернулся после исключения");
+    }
+
+    @Test
+    void timedOutRequestsCountAsFailures() {
+        BalancingTransport transport = transport((method, url, headers, parameters, body) ->
+                url.startsWith(FIRST) ? Mono.never() : Mono.just(ResponseEntity.ok().build()));
+
+        for (int i = 0; i < 20; i++) {
+            send(transport).timeout(Duration.ofMillis(5)).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        assertFalse(transport.instances().get(0).isAvailable(clock.get()),
+                "Экземпляр, не отвечающий в срок, не исключён");
+    }
+
+    @Test
+    void losingHedgeIsNotFailure() {
+        AtomicBoolean slowPrimary = new AtomicBoolean();
+        AtomicInteger calls = new AtomicInteger();
+        BalancingTransport transport = transport((method, url, headers, parameters, body) ->
+                slowPrimary.get() && calls.incrementAndGet() % 2 == 1 ? Mono.never() : Mono.just(ResponseEntity.ok().build()));
+        UpstreamHedgingProperties hedging = new UpstreamHedgingProperties();
+        hedging.setEnabled(true);
+        hedging.setMinDelay(Duration.ofMillis(10));
+        hedging.setBudget(1);
+        RequestHedger hedger = new RequestHedger(hedging, meterRegistry, Schedulers.boundedElastic());
+        for (int i = 0; i < 20; i++) {
+            hedger.hedge("bookings", () -> send(transport)).block();
+        }
+
+        slowPrimary.set(true);
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(hedger.hedge("bookings", () -> send(transport)).block(Duration.ofSeconds(2)), "Нет ответа");
+        }
+
+        assertEquals(10, meterRegistry.counter("gateway.requests.hedge.won", "client", "bookings").count(),
+                "Ответы получены не на повторы");
+        for (ServerInstance instance : transport.instances()) {
+            assertTrue(instance.isAvailable(clock.get()), "Отмена проигравшей попытки посчитана ошибкой");
+        }
+    }
+
+    @Test
+    void requestsAreSentWhenNoInstanceIsAvailable() {
+        BalancingTransport transport = transport((method, url, headers, parameters, body) -> {
+            calledUrls.add(url);
+            return Mono.error(new IllegalStateException("соединение отклонено"));
+        });
+
+        for (int i = 0; i < 10; i++) {
+            send(transport).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        assertEquals(10, calledUrls.size(), "Запросы не отправляются, когда все экземпляры исключены");
+        assertTrue(calledUrls.stream().allMatch(url -> url.equals(FIRST + "/bookings/1") || url.equals(SECOND + "/bookings/1")),
+                "Путь запроса не дописывается к адресу экземпляра");
+    }
+
+    @Test
+    void failedHealthProbeTakesInstanceOutOfRotation() throws IOException, InterruptedException {
+        HttpServer healthy = healthServer(200);
+        HttpServer unhealthy = healthServer(503);
+        try {
+            String healthyUrl = url(healthy);
+            String unhealthyUrl = url(unhealthy);
+            BalancingTransport transport = new BalancingTransport((method, url, headers, parameters, body) -> {
+                calledUrls.add(url);
+                return Mono.just(ResponseEntity.ok().build());
+            }, List.of(healthyUrl, unhealthyUrl + "/"), properties, meterRegistry, clock::get);
+
+            transport.probe();
+            ServerInstance instance = transport.instances().get(1);
+            for (int i = 0; i < 100 && instance.isHealthy(); i++) {
+                Thread.sleep(50);
+            }
+
+            assertFalse(instance.isHealthy(), "Экземпляр с ответом 503 на проверку здоровья остался в работе");
+            assertTrue(transport.instances().get(0).isHealthy(), "Исправный экземпляр выведен из работы");
+            for (int i = 0; i < 10; i++) {
+                send(transport).block();
+            }
+            assertTrue(calledUrls.stream().allMatch(url -> url.startsWith(healthyUrl)),
+                    "Запросы отправляются на экземпляр, не прошедший проверку");
+        } finally {
+            healthy.stop(0);
+            unhealthy.stop(0);
+        }
+    }
+
+    private BalancingTransport transport(UpstreamTransport delegate) {
+        return new BalancingTransport(delegate, List.of(FIRST, SECOND), properties, meterRegistry, clock::get);
+    }
+
+    private static Mono<ResponseEntity<Object>> send(UpstreamTransport transport) {
+        return transport.exchange(HttpMethod.GET, "/bookings/1", new HttpHeaders(), null, null);
+    }
+
+    private static HttpServer healthServer(int status) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/actuator/health", exchange -> {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static String url(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit-server.transport=reactive")
+class ReactiveUpstreamConfigTest {
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void reactiveTransportIsSelected() {
+        assertInstanceOf(WebClientTransport.class, ((BalancingTransport) context.getBean(UpstreamTransport.class)).delegate,
+                "Не выбирается неблокирующий транспорт");
+        assertTrue(context.getBeansOfType(PoolingHttpClientConnectionManager.class).isEmpty(),
+                "Пул Apache HttpClient создаётся в неблокирующем режиме");
+    }
+
+    @Test
+    void upstreamResponseIsRequestedInGzipAndUnpacked() throws Exception {
+        HttpServer server = GzipServer.start();
+        try {
+            UpstreamTransport transport = ((BalancingTransport) context.getBean(UpstreamTransport.class)).delegate;
+            ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, GzipServer.url(server),
+                    new HttpHeaders(), null, null).block();
+
+            assertNotNull(response, "Нет ответа");
+            assertFalse(response.getHeaders().containsKey("X-Uncompressed"), "Ответ в gzip не запрошен");
+            assertEquals(GzipServer.BODY, new String((byte[]) response.getBody(), StandardCharsets.UTF_8),
+                    "Ответ сервера в gzip не распакован");
+            assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING),
+                    "Распакованный ответ передаётся с Content-Encoding");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void bodyLargerThanDefaultCodecLimitIsRelayed() throws Exception {
+        byte[] body = ("[" + "{\"id\":1},".repeat(100_000) + "{\"id\":2}]").getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings/owner", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            UpstreamTransport transport = ((BalancingTransport) context.getBean(UpstreamTransport.class)).delegate;
+            ResponseEntity<Object> response = transport.exchange(HttpMethod.GET,
+                    "http://localhost:" + server.getAddress().getPort() + "/bookings/owner",
+                    new HttpHeaders(), null, null).block();
+
+            assertNotNull(response, "Нет ответа");
+            assertTrue(body.length > 256 * 1024, "Тело ответа не больше лимита WebClient по умолчанию");
+            assertArrayEquals(body, (byte[]) response.getBody(), "Большой ответ сервера передан не целиком");
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private Sinks.One<ResponseEntity<Object>> upstream;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstream = Sinks.one();
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneCall() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO, meterRegistry);
+
+        Mono<ResponseEntity<Object>> first = coalescer.coalesce("/items", "/1", 5, null, this::call);
+        Mono<ResponseEntity<Object>> second = coalescer.coalesce("/items", "/1", 5, null, this::call);
+        first.subscribe();
+        upstream.tryEmitValue(ResponseEntity.ok("вещь"));
+
+        assertEquals("вещь", second.block().getBody(), "Ожидающий запрос не получил ответ");
+        assertEquals("вещь", first.block().getBody(), "Первый запрос не получил ответ");
+        assertEquals(1, calls.get(), "Одинаковые запросы не объединены");
+        assertEquals(1, meterRegistry.counter("gateway.requests.coalesced", "client", "/items").count(),
+                "Не посчитан сэкономленный запрос");
+        assertEquals(0, coalescer.inFlight(), "Запрос не удалён после ответа");
+    }
+
+    @Test
+    void differentUsersAndParametersAreNotCoalesced() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO, meterRegistry);
+
+        coalescer.coalesce("/requests", "/all", 5, Map.of("from", 0), this::call);
+        coalescer.coalesce("/requests", "/all", 6, Map.of("from", 0), this::call);
+        coalescer.coalesce("/requests", "/all", 5, Map.of("from", 10), this::call);
+
+        assertEquals(3, coalescer.inFlight(), "Объединены запросы разных пользователей или с разными параметрами");
+    }
+
+    @Test
+    void completedRequestIsNotReusedWithoutWindow() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO, meterRegistry);
+        upstream.tryEmitValue(ResponseEntity.ok("вещь"));
+
+        coalescer.coalesce("/items", "/1", 5, null, this::call).block();
+        coalescer.coalesce("/items", "/1", 5, null, this::call).block();
+
+        assertEquals(2, calls.get(), "Без окна ответ не должен переиспользоваться после завершения");
+    }
+
+    @Test
+    void completedRequestIsReusedWithinWindow() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMinutes(1), meterRegistry);
+        upstream.tryEmitValue(ResponseEntity.ok("вещь"));
+
+        coalescer.coalesce("/items", "/1", 5, null, this::call).block();
+        coalescer.coalesce("/items", "/1", 5, null, this::call).block();
+
+        assertEquals(1, calls.get(), "В пределах окна ответ должен переиспользоваться");
+    }
+
+    @Test
+    void errorIsSharedAndReleased() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO, meterRegistry);
+
+        Mono<ResponseEntity<Object>> first = coalescer.coalesce("/items", "/1", 5, null, this::call);
+        Mono<ResponseEntity<Object>> second = coalescer.coalesce("/items", "/1", 5, null, this::call);
+        first.subscribe(response -> { }, error -> { });
+        upstream.tryEmitError(new IllegalStateException("сервер недоступен"));
+
+        assertThrows(IllegalStateException.class, second::block, "Ошибка не передана ожидающему запросу");
+        assertEquals(0, coalescer.inFlight(), "Запрос не удалён после ошибки");
+    }
+
+    private Mono<ResponseEntity<Object>> call() {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+    }
+}
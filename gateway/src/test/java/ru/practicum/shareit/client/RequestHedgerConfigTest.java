@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "shareit-server.hedging.enabled=true",
+        "shareit-server.hedging.budget=0",
+        "shareit-server.http.max-total=200"
+})
+class RequestHedgerConfigTest {
+    @Autowired
+    private RequestHedger hedger;
+
+    @Test
+    void blockingPrimariesAreNotLimitedByBoundedElastic() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            hedger.hedge("users", () -> Mono.just(ResponseEntity.ok("ответ"))).block();
+        }
+        int concurrent = 10 * Runtime.getRuntime().availableProcessors() + 10;
+        CountDownLatch started = new CountDownLatch(concurrent);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < concurrent; i++) {
+                hedger.hedge("users", () -> Mono.fromCallable(() -> {
+                    started.countDown();
+                    release.await();
+                    return ResponseEntity.ok("ответ");
+                })).subscribe();
+            }
+
+            assertTrue(started.await(5, TimeUnit.SECONDS), "Одновременно выполняется только "
+                    + (concurrent - started.getCount()) + " блокирующих запросов из " + concurrent);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private UpstreamHedgingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UpstreamHedgingProperties();
+        properties.setEnabled(true);
+        properties.setMinDelay(Duration.ofMillis(10));
+        properties.setBudget(0.1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void disabledHedgingSendsOneRequest() {
+        properties.setEnabled(false);
+        RequestHedger hedger = new RequestHedger(properties, meterRegistry, Schedulers.boundedElastic());
+
+        hedger.hedge("bookings", () -> Mono.delay(Duration.ofMillis(50)).map(tick -> ok("ответ"))).block();
+
+        assertTrue(meterRegistry.find("gateway.upstream.latency").meters().isEmpty(),
+                "Время ответа учитывается при выключенных повторах");
+    }
+
+    @Test
+    void requestsAreNotHedgedUntilLatencyIsKnown() {
+        RequestHedger hedger = new RequestHedger(properties, meterRegistry, Schedulers.boundedElastic());
+
+        hedger.hedge("bookings", this::slowFirstAttempt).block();
+
+        assertEquals(1, calls.get(), "Повтор отправлен без статистики времени ответа");
+    }
+
+    @Test
+    void slowRequestIsHedged() {
+        RequestHedger hedger = warmedUp();
+
+        ResponseEntity<Object> response = hedger.hedge("bookings", this::slowFirstAttempt)
+                .block(Duration.ofSeconds(2));
+
+        assertNotNull(response, "Нет ответа");
+        assertEquals("повтор", response.getBody(), "Не отдан первый полученный ответ");
+        assertEquals(2, calls.get(), "Повтор не отправлен");
+        assertEquals(1, meterRegistry.counter("gateway.requests.hedged", "client", "bookings").count(),
+                "Не посчитан повтор");
+        assertEquals(1, meterRegistry.counter("gateway.requests.hedge.won", "client", "bookings").count(),
+                "Не посчитан ответ на повтор");
+    }
+
+    @Test
+    void hedgeWinsOverBlockingPrimary() {
+        RequestHedger hedger = warmedUp();
+
+        long start = System.nanoTime();
+        ResponseEntity<Object> response = hedger.hedge("bookings", () -> calls.incrementAndGet() == 1
+                ? Mono.fromCallable(() -> {
+                    Thread.sleep(2000);
+                    return ok("ответ");
+                })
+                : Mono.just(ok("повтор"))).block(Duration.ofSeconds(5));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNotNull(response, "Нет ответа");
+        assertEquals("повтор", response.getBody(), "Не отдан первый полученный ответ");
+        assertTrue(elapsed < 1000, "Ответ на повтор отдан только после основного запроса, через " + elapsed + " мс");
+    }
+
+    @Test
+    void hedgesAreLimitedByBudget() {
+        RequestHedger hedger = warmedUp();
+
+        for (int i = 0; i < 10; i++) {
+            hedger.hedge("bookings", () -> Mono.delay(Duration.ofMillis(50)).map(tick -> ok("ответ"))).block();
+        }
+
+        assertEquals(3, meterRegistry.counter("gateway.requests.hedged", "client", "bookings").count(),
+                "Повторов больше, чем позволяет бюджет");
+        assertEquals(7, meterRegistry.counter("gateway.requests.hedge.rejected", "client", "bookings").count(),
+                "Не посчитаны повторы сверх бюджета");
+    }
+
+    @Test
+    void failedHedgeDoesNotReplacePrimaryResponse() {
+        RequestHedger hedger = warmedUp();
+
+        ResponseEntity<Object> response = hedger.hedge("bookings", () -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(100)).map(tick -> ok("ответ"))
+                : Mono.error(new IllegalStateException("соединение отклонено"))).block(Duration.ofSeconds(2));
+
+        assertNotNull(response, "Нет ответа");
+        assertEquals("ответ", response.getBody(), "Ошибка повтора заменила ответ на основной запрос");
+    }
+
+    private RequestHedger warmedUp() {
+        RequestHedger hedger = new RequestHedger(properties, meterRegistry, Schedulers.boundedElastic());
+        for (int i = 0; i < 20; i++) {
+            hedger.hedge("bookings", () -> Mono.just(ok("ответ"))).block();
+        }
+        return hedger;
+    }
+
+    private Mono<ResponseEntity<Object>> slowFirstAttempt() {
+        return calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(500)).map(tick -> ok("ответ"))
+                : Mono.just(ok("повтор"));
+    }
+
+    private static ResponseEntity<Object> ok(String body) {
+        return ResponseEntity.ok(body);
+    }
+}
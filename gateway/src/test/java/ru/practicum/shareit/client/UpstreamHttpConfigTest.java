@@ -0,0 +1,152 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "shareit-server.http.max-total=9",
+        "shareit-server.http.max-per-route=7",
+        "shareit-server.http.read-timeout=200ms",
+        "resilience4j.timelimiter.instances.users.timeout-duration=50ms"
+})
+class UpstreamHttpConfigTest {
+    @Autowired
+    private PoolingHttpClientConnectionManager manager;
+
+    @Autowired
+    private ClientHttpRequestFactory requestFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private UpstreamTransport transport;
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private RequestClient requestClient;
+
+    @Test
+    void poolUsesProperties() {
+        assertEquals(9, manager.getMaxTotal(), "Не применяется max-total");
+        assertEquals(7, manager.getDefaultMaxPerRoute(), "Не применяется max-per-route");
+    }
+
+    @Test
+    void clientsShareOnePool() {
+        Object factory = ((RestTemplateTransport) ((BalancingTransport) transport).delegate).rest.getRequestFactory();
+        if (factory instanceof AbstractClientHttpRequestFactoryWrapper) {
+            factory = ReflectionTestUtils.getField(factory, "requestFactory");
+        }
+        assertSame(requestFactory, factory, "Транспорт создаёт собственный пул соединений");
+        for (BaseClient client : List.of(bookingClient, itemClient, userClient, requestClient)) {
+            assertSame(transport, client.transport,
+                    String.format("%s использует собственный транспорт", client.getClass().getSimpleName()));
+        }
+    }
+
+    @Test
+    void clientReadTimeoutIsLimitedByTimeLimiter() {
+        RestTemplateTransport rest = (RestTemplateTransport) ((BalancingTransport) transport).delegate;
+
+        assertEquals(50, socketTimeout(rest.rest("users")), "Таймаут чтения не ограничен временем ответа клиента");
+        assertEquals(200, socketTimeout(rest.rest("bookings")), "Таймаут чтения больше read-timeout");
+    }
+
+    @Test
+    void poolMetricsAreExported() {
+        assertEquals(9.0, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value(),
+                "Нет метрики размера пула");
+        assertNotNull(registry.get("httpcomponents.httpclient.pool.total.connections").tag("state", "leased").gauge(),
+                "Нет метрики занятых соединений");
+        assertNotNull(registry.get("httpcomponents.httpclient.pool.total.pending").gauge(),
+                "Нет метрики ожидающих соединения запросов");
+    }
+
+    @Test
+    void readTimeoutIsApplied() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(2_000);
+                exchange.sendResponseHeaders(200, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        try {
+            RestTemplate rest = new RestTemplate(requestFactory);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/users";
+
+            assertThrows(ResourceAccessException.class, () -> rest.getForObject(url, String.class),
+                    "Не применяется read-timeout");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void upstreamResponseIsRequestedInGzipAndUnpacked() throws Exception {
+        HttpServer server = GzipServer.start();
+        try {
+            RestTemplate rest = new RestTemplate(requestFactory);
+            ResponseEntity<String> response = rest.getForEntity(GzipServer.url(server), String.class);
+
+            assertFalse(response.getHeaders().containsKey("X-Uncompressed"), "Ответ в gzip не запрошен");
+            assertEquals(GzipServer.BODY, response.getBody(), "Ответ сервера в gzip не распакован");
+            assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING),
+                    "Распакованный ответ передаётся с Content-Encoding");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int socketTimeout(RestTemplate rest) {
+        Object factory = rest.getRequestFactory();
+        if (factory instanceof AbstractClientHttpRequestFactoryWrapper) {
+            factory = ReflectionTestUtils.getField(factory, "requestFactory");
+        }
+        BiFunction<HttpMethod, URI, HttpContext> contextFactory =
+                (BiFunction<HttpMethod, URI, HttpContext>) ReflectionTestUtils.getField(factory, "httpContextFactory");
+        assertNotNull(contextFactory, "Фабрика запросов клиента не задаёт таймаут");
+        HttpContext context = contextFactory.apply(HttpMethod.GET, URI.create("http://server:9090/"));
+        return HttpClientContext.adapt(context).getRequestConfig().getSocketTimeout();
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit-server.url=http://server:9090")
+@TestPropertySource(locations = "file:src/main/resources/application.properties")
+@AutoConfigureMockMvc
+class UpstreamPoliciesConfigTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakers;
+
+    @AfterEach
+    void tearDown() {
+        circuitBreakers.circuitBreaker("users").reset();
+    }
+
+    @Test
+    void openCircuitReturnsServiceUnavailableAndShowsInHealth() throws Exception {
+        circuitBreakers.circuitBreaker("users").transitionToForcedOpenState();
+
+        MvcResult result = mvc.perform(get("/users/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Сервер временно недоступен"));
+
+        mvc.perform(get("/actuator/health/upstream"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.components.circuitBreakers.details.users.details.state").value("FORCED_OPEN"))
+                .andExpect(jsonPath("$.components.circuitBreakers.details.bookings.details.state").value("CLOSED"));
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.components").doesNotExist());
+    }
+}
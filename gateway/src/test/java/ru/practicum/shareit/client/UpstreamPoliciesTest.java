@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamPoliciesTest {
+    private CircuitBreakerRegistry circuitBreakers;
+    private UpstreamPolicies policies;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(100))
+                .build());
+        timeLimiters.timeLimiter("bookings", TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(3)).build());
+        policies = new UpstreamPolicies(circuitBreakers, bulkheads, timeLimiters);
+    }
+
+    @Test
+    void serverErrorsAreRelayedAndOpenCircuit() {
+        ResponseEntity<Object> error = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("ошибка");
+
+        assertSame(error, policies.apply("users", Mono.just(error)).block(), "Ответ 5xx не передан клиенту");
+        assertSame(error, policies.apply("users", Mono.just(error)).block(), "Ответ 5xx не передан клиенту");
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("users").getState(),
+                "Автомат не отключил клиента после ошибок сервера");
+        assertThrows(CallNotPermittedException.class,
+                () -> policies.apply("users", Mono.just(ResponseEntity.ok("{}"))).block(),
+                "При открытом автомате запрос ушёл на сервер");
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("items").getState(),
+                "Автомат одного клиента отключил другой");
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 4; i++) {
+            policies.apply("users", Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build())).block();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("users").getState(),
+                "Ответы 4xx не должны отключать клиента");
+    }
+
+    @Test
+    void bulkheadRejectsConcurrentCallsOverLimit() {
+        policies.apply("items", Mono.never()).subscribe(response -> { }, error -> { });
+
+        assertThrows(BulkheadFullException.class,
+                () -> policies.apply("items", Mono.just(ResponseEntity.ok("{}"))).block(),
+                "Превышение числа одновременных запросов не отклонено");
+        assertNotNull(policies.apply("users", Mono.just(ResponseEntity.ok("{}"))).block(),
+                "Ограничение одного клиента затронуло другой");
+    }
+
+    @Test
+    void slowCallsAreCutByTimeLimiter() {
+        Exception e = assertThrows(RuntimeException.class, () -> policies.apply("requests", Mono.never()).block(),
+                "Долгий запрос не прерван");
+
+        assertInstanceOf(TimeoutException.class, e.getCause(), "Запрос прерван не по времени");
+    }
+
+    @Test
+    void timeoutIsResolvedByClient() {
+        assertEquals(Duration.ofSeconds(3), policies.timeout("bookings"), "Не найден таймаут клиента");
+        assertEquals(Duration.ofMillis(100), policies.timeout("items"),
+                "Для клиента без своих настроек должен браться таймаут по умолчанию");
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamTransportTest {
+    private static HttpServer server;
+    private static String serverUrl;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> respond(exchange, 200, String.format("{\"user\":\"%s\",\"query\":\"%s\"}",
+                exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"), exchange.getRequestURI().getQuery())));
+        server.createContext("/users", exchange -> respond(exchange, 201,
+                new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        server.createContext("/missing", exchange -> respond(exchange, 404, "{\"error\":\"не найдено\"}"));
+        server.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("X-Next-Cursor", "next");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+        serverUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    static Stream<UpstreamTransport> transports() {
+        return Stream.of(
+                new RestTemplateTransport(new RestTemplateBuilder()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                        .build()),
+                new WebClientTransport(WebClient.builder()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .build()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("transports")
+    void passesHeadersAndParameters(UpstreamTransport transport) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "5");
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/items/search?text={text}", headers,
+                Map.of("text", "дрель"), null).block();
+
+        assertNotNull(response, "Нет ответа");
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Не передаётся статус");
+        assertEquals("{\"user\":\"5\",\"query\":\"text=дрель\"}", body(response),
+                "Не передаются заголовок пользователя и параметры");
+    }
+
+    @ParameterizedTest
+    @MethodSource("transports")
+    void sendsBody(UpstreamTransport transport) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.POST, "/users", headers, null,
+                Map.of("name", "user")).block();
+
+        assertNotNull(response, "Нет ответа");
+        assertEquals(HttpStatus.CREATED, response.getStatusCode(), "Не передаётся статус");
+        assertEquals("{\"name\":\"user\"}", body(response), "Не передаётся тело запроса");
+    }
+
+    @ParameterizedTest
+    @MethodSource("transports")
+    void relaysErrorStatusAndBody(UpstreamTransport transport) {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/missing", new HttpHeaders(),
+                null, null).block();
+
+        assertNotNull(response, "Нет ответа");
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode(), "Статус ошибки не передаётся клиенту");
+        assertEquals("{\"error\":\"не найдено\"}", body(response), "Тело ошибки не передаётся клиенту");
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType(),
+                "Тип тела ошибки не передаётся клиенту");
+    }
+
+    @ParameterizedTest
+    @MethodSource("transports")
+    void relaysBodyBytesAndHeaders(UpstreamTransport transport) {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/bookings", new HttpHeaders(),
+                null, null).block();
+
+        assertNotNull(response, "Нет ответа");
+        assertInstanceOf(byte[].class, response.getBody(), "Тело ответа разбирается вместо передачи байтами");
+        assertEquals("[{\"id\":1}]", body(response), "Тело ответа изменилось");
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType(), "Не передаётся тип тела");
+        assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"), "Не передаются заголовки ответа");
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING),
+                "Заголовки соединения с сервером передаются клиенту");
+    }
+
+    @Test
+    void restTemplateIsChosenByClientFromContext() {
+        List<String> created = new ArrayList<>();
+        RestTemplate rest = new RestTemplateBuilder().uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl)).build();
+        RestTemplateTransport transport = new RestTemplateTransport(rest, client -> {
+            created.add(client);
+            return rest;
+        });
+
+        for (int i = 0; i < 2; i++) {
+            transport.exchange(HttpMethod.GET, "/bookings", new HttpHeaders(), null, null)
+                    .contextWrite(Context.of(UpstreamTransport.CLIENT, "bookings"))
+                    .block();
+        }
+        transport.exchange(HttpMethod.GET, "/bookings", new HttpHeaders(), null, null).block();
+
+        assertEquals(List.of("bookings"), created, "RestTemplate клиента создаётся не один раз или без клиента");
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
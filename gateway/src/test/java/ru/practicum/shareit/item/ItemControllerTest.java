@@ -10,7 +10,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 
@@ -18,6 +22,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,9 +51,9 @@ class ItemControllerTest {
     @Test
     void createItem() throws Exception {
         when(client.createItem(anyLong(), any()))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(itemDto)));
 
-        mvc.perform(post("/items")
+        performAsync(post("/items")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.writeValueAsString(itemDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -62,9 +67,9 @@ class ItemControllerTest {
     void createComment() throws Exception {
         CommentDto commentDto = new CommentDto("text");
         when(client.createComment(anyLong(), anyLong(), any()))
-                .thenReturn(ResponseEntity.ok(commentDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(commentDto)));
 
-        mvc.perform(post("/items/1/comment")
+        performAsync(post("/items/1/comment")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.writeValueAsString(commentDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -78,9 +83,9 @@ class ItemControllerTest {
     void updateItem() throws Exception {
         itemDto = new ItemDto(null, "name", null, null, null);
         when(client.updateItem(anyLong(), anyLong(), any()))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(itemDto)));
 
-        mvc.perform(patch("/items/1")
+        performAsync(patch("/items/1")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.writeValueAsString(itemDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -93,9 +98,9 @@ class ItemControllerTest {
     @Test
     void getItem() throws Exception {
         when(client.getItem(anyLong(), anyLong()))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(itemDto)));
 
-        mvc.perform(get("/items/1")
+        performAsync(get("/items/1")
                         .header("X-Sharer-User-Id", 1)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -107,9 +112,9 @@ class ItemControllerTest {
     @Test
     void getItems() throws Exception {
         when(client.getItems(anyLong(), anyInt(), anyInt()))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(itemDto)));
 
-        mvc.perform(get("/items")
+        performAsync(get("/items")
                         .header("X-Sharer-User-Id", 1)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -121,9 +126,9 @@ class ItemControllerTest {
     @Test
     void searchItems() throws Exception {
         when(client.searchText(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(itemDto)));
 
-        mvc.perform(get("/items/search?text=desc")
+        performAsync(get("/items/search?text=desc")
                         .header("X-Sharer-User-Id", 1)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -131,4 +136,11 @@ class ItemControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
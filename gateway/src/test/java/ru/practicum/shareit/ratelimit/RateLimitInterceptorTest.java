@@ -0,0 +1,80 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "gateway.rate-limit.read.capacity=2",
+        "gateway.rate-limit.read.per-second=0.1",
+        "gateway.rate-limit.write.capacity=1",
+        "gateway.rate-limit.write.per-second=0.1"
+})
+@AutoConfigureMockMvc
+class RateLimitInterceptorTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private BookingClient client;
+
+    @BeforeEach
+    void setUp() {
+        when(client.getBooking(anyLong(), anyLong())).thenReturn(Mono.just(ResponseEntity.ok("{}")));
+        when(client.updateBooking(anyLong(), anyLong(), anyBoolean())).thenReturn(Mono.just(ResponseEntity.ok("{}")));
+    }
+
+    @Test
+    void rejectsWritesOverLimitWithRetryAfter() throws Exception {
+        performAsync(patch("/bookings/1").param("approved", "true").header("X-Sharer-User-Id", 10))
+                .andExpect(status().isOk());
+
+        mvc.perform(patch("/bookings/1").param("approved", "true").header("X-Sharer-User-Id", 10))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.error").value("Превышен лимит запросов пользователя 10"));
+
+        performAsync(get("/bookings/1").header("X-Sharer-User-Id", 10))
+                .andExpect(status().isOk());
+        performAsync(patch("/bookings/1").param("approved", "true").header("X-Sharer-User-Id", 11))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void asyncDispatchDoesNotSpendToken() throws Exception {
+        performAsync(get("/bookings/1").header("X-Sharer-User-Id", 20)).andExpect(status().isOk());
+        performAsync(get("/bookings/1").header("X-Sharer-User-Id", 20)).andExpect(status().isOk());
+
+        mvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 20))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
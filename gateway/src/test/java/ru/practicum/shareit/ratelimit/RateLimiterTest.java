@@ -0,0 +1,69 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Limit(2, 1));
+        properties.setWrite(new RateLimitProperties.Limit(1, 1));
+        rateLimiter = new RateLimiter(properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    void limitsUsersAndKindsSeparately() {
+        assertEquals(0, rateLimiter.tryAcquire(1, RateLimiter.Kind.WRITE), "Первая запись отклонена");
+        assertTrue(rateLimiter.tryAcquire(1, RateLimiter.Kind.WRITE) > 0, "Вторая запись не отклонена");
+        assertEquals(0, rateLimiter.tryAcquire(1, RateLimiter.Kind.READ), "Чтение ограничено лимитом записи");
+        assertEquals(0, rateLimiter.tryAcquire(2, RateLimiter.Kind.WRITE), "Пользователь ограничен чужим лимитом");
+
+        assertEquals(1, meterRegistry.counter("gateway.ratelimit.rejected", "kind", "write").count(),
+                "Не посчитан отклонённый запрос");
+        assertEquals(3, meterRegistry.get("gateway.ratelimit.buckets").gauge().value(),
+                "Неверное число корзин в метрике");
+    }
+
+    @Test
+    void purgesFullBucketsWhenMapGrows() {
+        for (long userId = 0; userId <= RateLimiter.PURGE_THRESHOLD; userId++) {
+            rateLimiter.tryAcquire(userId, RateLimiter.Kind.READ);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        rateLimiter.tryAcquire(-1, RateLimiter.Kind.READ);
+
+        assertEquals(1, rateLimiter.buckets(), "Пополненные корзины не удалены");
+    }
+
+    @Test
+    void purgesAtMostOncePerInterval() {
+        for (long userId = 0; userId < RateLimiter.PURGE_THRESHOLD; userId++) {
+            rateLimiter.tryAcquire(userId, RateLimiter.Kind.READ);
+        }
+        clock.addAndGet(RateLimiter.PURGE_INTERVAL / 2);
+        rateLimiter.tryAcquire(-1, RateLimiter.Kind.READ);
+        rateLimiter.tryAcquire(-2, RateLimiter.Kind.READ);
+
+        clock.addAndGet(RateLimiter.PURGE_INTERVAL / 2);
+        rateLimiter.tryAcquire(-3, RateLimiter.Kind.READ);
+        assertEquals(RateLimiter.PURGE_THRESHOLD + 3, rateLimiter.buckets(),
+                "Корзины удаляются чаще раза в интервал");
+
+        clock.addAndGet(RateLimiter.PURGE_INTERVAL / 2);
+        rateLimiter.tryAcquire(-4, RateLimiter.Kind.READ);
+        assertEquals(2, rateLimiter.buckets(), "Пополненные корзины не удалены после интервала");
+    }
+}
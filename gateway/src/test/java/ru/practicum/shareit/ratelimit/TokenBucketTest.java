@@ -0,0 +1,43 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertEquals(0, bucket.tryAcquire(0), "Первый запрос отклонён");
+        assertEquals(0, bucket.tryAcquire(0), "Второй запрос отклонён");
+        assertEquals(0, bucket.tryAcquire(0), "Третий запрос отклонён");
+        assertEquals(SECOND, bucket.tryAcquire(0), "Запрос сверх всплеска должен ждать один интервал");
+    }
+
+    @Test
+    void refillsWithConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+        assertEquals(0, bucket.tryAcquire(0), "Первый запрос отклонён");
+        assertEquals(SECOND / 2, bucket.tryAcquire(0), "Неверное время ожидания токена");
+        assertEquals(0, bucket.tryAcquire(SECOND / 2), "Токен не появился через интервал");
+        assertFalse(bucket.isFull(SECOND / 2), "Корзина считается полной сразу после списания");
+        assertTrue(bucket.isFull(SECOND), "Корзина не пополнилась");
+    }
+
+    @Test
+    void retiredBucketDoesNotSpendTokens() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+
+        assertEquals(0, bucket.tryAcquire(0), "Первый запрос отклонён");
+        assertFalse(bucket.retire(SECOND / 2), "Удалена не пополненная корзина");
+        assertTrue(bucket.retire(SECOND), "Не удалена полная корзина");
+        assertFalse(bucket.retire(SECOND), "Корзина удалена дважды");
+        assertEquals(TokenBucket.RETIRED, bucket.tryAcquire(SECOND), "Удалённая корзина списала токен");
+    }
+}
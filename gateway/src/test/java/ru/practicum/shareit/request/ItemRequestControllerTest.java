@@ -10,15 +10,21 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,9 +53,9 @@ class ItemRequestControllerTest {
     @Test
     void createRequest() throws Exception {
         when(client.createRequest(anyLong(), any()))
-                .thenReturn(ResponseEntity.ok(requestDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(requestDto)));
 
-        mvc.perform(post("/requests")
+        performAsync(post("/requests")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.writeValueAsString(requestDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -62,9 +68,9 @@ class ItemRequestControllerTest {
     @Test
     void getRequest() throws Exception {
         when(client.getRequest(anyLong(), anyLong()))
-                .thenReturn(ResponseEntity.ok(requestDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(requestDto)));
 
-        mvc.perform(get("/requests/1")
+        performAsync(get("/requests/1")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.writeValueAsString(requestDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -77,9 +83,9 @@ class ItemRequestControllerTest {
     @Test
     void getRequestsByUserId() throws Exception {
         when(client.getRequestsByUser(anyLong(), anyInt(), anyInt()))
-                .thenReturn(ResponseEntity.ok(requestDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(requestDto)));
 
-        mvc.perform(get("/requests")
+        performAsync(get("/requests")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.writeValueAsString(requestDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -92,9 +98,9 @@ class ItemRequestControllerTest {
     @Test
     void getAllRequests() throws Exception {
         when(client.getAllRequests(anyLong(), anyInt(), anyInt()))
-                .thenReturn(ResponseEntity.ok(requestDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(requestDto)));
 
-        mvc.perform(get("/requests/all")
+        performAsync(get("/requests/all")
                         .header("X-Sharer-User-Id", 1)
                         .content(mapper.writeValueAsString(requestDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -103,4 +109,11 @@ class ItemRequestControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
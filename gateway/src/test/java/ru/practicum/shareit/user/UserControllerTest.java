@@ -10,7 +10,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -21,6 +25,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,9 +54,9 @@ class UserControllerTest {
     @Test
     void createUser() throws Exception {
         when(client.createUser(any()))
-                .thenReturn(ResponseEntity.ok(userDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(userDto)));
 
-        mvc.perform(post("/users")
+        performAsync(post("/users")
                         .content(mapper.writeValueAsString(userDto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -64,9 +69,9 @@ class UserControllerTest {
     void updateUser() throws Exception {
         userDto = new UserDto(null, "name", null);
         when(client.updateUser(anyLong(), any()))
-                .thenReturn(ResponseEntity.ok(userDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(userDto)));
 
-        mvc.perform(patch("/users/1")
+        performAsync(patch("/users/1")
                         .content(mapper.writeValueAsString(userDto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -78,9 +83,9 @@ class UserControllerTest {
     @Test
     void getUser() throws Exception {
         when(client.getUser(anyLong()))
-                .thenReturn(ResponseEntity.ok(userDto));
+                .thenReturn(Mono.just(ResponseEntity.ok(userDto)));
 
-        mvc.perform(get("/users/1")
+        performAsync(get("/users/1")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
@@ -91,9 +96,9 @@ class UserControllerTest {
     @Test
     void getUsers() throws Exception {
         when(client.getUsers())
-                .thenReturn(ResponseEntity.ok(List.of(userDto)));
+                .thenReturn(Mono.just(ResponseEntity.ok(List.of(userDto))));
 
-        mvc.perform(get("/users")
+        performAsync(get("/users")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
@@ -104,13 +109,20 @@ class UserControllerTest {
     @Test
     void deleteUser() throws Exception {
         when(client.deleteUser(anyLong()))
-                .thenReturn(ResponseEntity.ok(Optional.empty()));
+                .thenReturn(Mono.just(ResponseEntity.ok(Optional.empty())));
 
-        mvc.perform(delete("/users/1")
+        performAsync(delete("/users/1")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum Endpoint {
+    ITEM("GET /items/{id}", 25),
+    OWNER_ITEMS("GET /items", 15),
+    SEARCH("GET /items/search", 15),
+    BOOKER_BOOKINGS("GET /bookings", 10),
+    OWNER_BOOKINGS("GET /bookings/owner", 10),
+    CREATE_BOOKING("POST /bookings", 10),
+    USER_REQUESTS("GET /requests", 5),
+    ALL_REQUESTS("GET /requests/all", 5),
+    REQUEST("GET /requests/{id}", 5);
+
+    private final String title;
+    private final int weight;
+}
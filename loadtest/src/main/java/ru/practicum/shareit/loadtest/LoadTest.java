@@ -0,0 +1,194 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.benchmark.Dataset;
+import ru.practicum.shareit.benchmark.DatasetGenerator;
+import ru.practicum.shareit.benchmark.DatasetSize;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Заполняет базу синтетическими данными и нагружает gateway смешанным набором запросов,
+ * после чего печатает пропускную способность и перцентили задержек по каждому эндпоинту.
+ * Без {@code --jdbc-url} сервер поднимается в этом же процессе на H2 и порту {@code --server-port};
+ * gateway запускается отдельно с {@code SHAREIT_SERVER_URL}, указывающим на этот порт.
+ * С {@code --virtual-threads=true} встроенный сервер обрабатывает запросы в виртуальных потоках (нужна Java 21).
+ * С {@code --stub-latency} вместо сервера на том же порту отвечает {@link StubServer}.
+ */
+@Slf4j
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        if (settings.getStubLatencyMillis() > 0) {
+            try (StubServer stub = StubServer.start(settings.getServerPort(), Duration.ofMillis(settings.getStubLatencyMillis()))) {
+                DatasetSize size = settings.getDatasetSize();
+                Map<Endpoint, EndpointStats> stats = run(settings, new Workload(settings.getGatewayUrl(),
+                        syntheticDataset(size), size.getSkew()));
+                report(stats, settings.getDurationSeconds());
+            }
+            return;
+        }
+        ConfigurableApplicationContext server = null;
+        JdbcTemplate jdbcTemplate;
+        if (settings.getJdbcUrl() == null) {
+            server = new SpringApplicationBuilder(ShareItServer.class)
+                    .profiles("ci")
+                    .properties(Map.of("server.port", settings.getServerPort(), "logging.level.root", "WARN",
+                            "spring.threads.virtual.enabled", settings.isVirtualThreads()))
+                    .run();
+            jdbcTemplate = server.getBean(JdbcTemplate.class);
+        } else {
+            jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(settings.getJdbcUrl(),
+                    settings.getJdbcUser(), settings.getJdbcPassword()));
+        }
+        try {
+            Dataset dataset = new DatasetGenerator(jdbcTemplate, settings.getSeed()).generate(settings.getDatasetSize());
+            if (server != null) {
+                server.getBean(ItemSearchIndex.class).rebuild();
+            } else {
+                log.warn("Данные загружены напрямую в базу: перезапустите сервер, чтобы перестроить поисковый индекс.");
+            }
+            Map<Endpoint, EndpointStats> stats = run(settings, new Workload(settings.getGatewayUrl(), dataset,
+                    settings.getDatasetSize().getSkew()));
+            report(stats, settings.getDurationSeconds());
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    /**
+     * Идентификаторы в том же порядке, что и у {@link DatasetGenerator} без перекоса, но без записи в базу.
+     */
+    private static Dataset syntheticDataset(DatasetSize size) {
+        long[] owners = LongStream.rangeClosed(1, size.getOwners()).toArray();
+        long[] bookers = LongStream.rangeClosed(size.getOwners() + 1, size.getOwners() + size.getBookers()).toArray();
+        long[] items = LongStream.rangeClosed(1, size.items()).toArray();
+        long[] itemOwners = LongStream.range(0, size.items()).map(i -> i / size.getItemsPerOwner() + 1).toArray();
+        long[] requests = LongStream.rangeClosed(1, size.requests()).toArray();
+        return new Dataset(owners, bookers, items, itemOwners, requests);
+    }
+
+    private static Map<Endpoint, EndpointStats> run(LoadTestSettings settings, Workload workload) throws Exception {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+        if (settings.getConnections() > 0) {
+            log.info("Нагрузка: {} одновременных соединений, прогрев {} с, измерение {} с", settings.getConnections(),
+                    settings.getWarmupSeconds(), settings.getDurationSeconds());
+            CountDownLatch finished = new CountDownLatch(settings.getConnections());
+            for (int i = 0; i < settings.getConnections(); i++) {
+                sendNext(client, workload, new Random(settings.getSeed() + i), stats, warmupEnd, end, finished);
+            }
+            finished.await();
+            return stats;
+        }
+        log.info("Нагрузка: {} потоков, прогрев {} с, измерение {} с", settings.getThreads(),
+                settings.getWarmupSeconds(), settings.getDurationSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < settings.getThreads(); i++) {
+            Random random = new Random(settings.getSeed() + i);
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < end) {
+                    Endpoint endpoint = workload.nextEndpoint(random);
+                    HttpRequest request = workload.request(endpoint, random);
+                    long start = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (start >= warmupEnd) {
+                            stats.get(endpoint).record(status, System.nanoTime() - start);
+                        }
+                    } catch (IOException e) {
+                        if (start >= warmupEnd) {
+                            stats.get(endpoint).recordFailure();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        return stats;
+    }
+
+    /**
+     * Одно «соединение» в режиме {@code --connections}: следующий запрос отправляется по завершении предыдущего,
+     * без выделенного потока на соединение.
+     */
+    private static void sendNext(HttpClient client, Workload workload, Random random, Map<Endpoint, EndpointStats> stats,
+                                 long warmupEnd, long end, CountDownLatch finished) {
+        if (System.nanoTime() >= end) {
+            finished.countDown();
+            return;
+        }
+        Endpoint endpoint = workload.nextEndpoint(random);
+        HttpRequest request = workload.request(endpoint, random);
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (start >= warmupEnd) {
+                if (error == null) {
+                    stats.get(endpoint).record(response.statusCode(), System.nanoTime() - start);
+                } else {
+                    stats.get(endpoint).recordFailure();
+                }
+            }
+            sendNext(client, workload, random, stats, warmupEnd, end, finished);
+        });
+    }
+
+    private static void report(Map<Endpoint, EndpointStats> stats, int durationSeconds) {
+        System.out.printf("%-22s %9s %9s %9s %9s %9s %9s %9s %9s %7s%n", "Эндпоинт", "Запросов", "RPS",
+                "p50, мс", "p90, мс", "p99, мс", "p99.9, мс", "max, мс", "4xx", "ошибок");
+        Histogram total = new Histogram(3);
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram latencies = endpointStats.getLatencies();
+            total.add(latencies);
+            System.out.printf("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d %7d%n", entry.getKey().getTitle(),
+                    latencies.getTotalCount(), (double) latencies.getTotalCount() / durationSeconds,
+                    millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0, endpointStats.getRejected().sum(), endpointStats.getErrors().sum());
+        }
+        System.out.printf("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", "Всего", total.getTotalCount(),
+                (double) total.getTotalCount() / durationSeconds, millis(total, 50), millis(total, 90),
+                millis(total, 99), millis(total, 99.9), total.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit.benchmark.DatasetSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Value
+@Builder
+public class LoadTestSettings {
+    String gatewayUrl;
+
+    String jdbcUrl;
+
+    String jdbcUser;
+
+    String jdbcPassword;
+
+    int serverPort;
+
+    boolean virtualThreads;
+
+    int threads;
+
+    int connections;
+
+    int stubLatencyMillis;
+
+    int warmupSeconds;
+
+    int durationSeconds;
+
+    long seed;
+
+    DatasetSize datasetSize;
+
+    /**
+     * Разбирает аргументы вида {@code --threads=32}; для не указанных параметров берутся значения по умолчанию.
+     */
+    public static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException(String.format("Некорректный аргумент %s, ожидается --имя=значение", arg));
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return LoadTestSettings.builder()
+                .gatewayUrl(values.getOrDefault("gateway-url", "http://localhost:8080"))
+                .jdbcUrl(values.get("jdbc-url"))
+                .jdbcUser(values.getOrDefault("jdbc-user", "postgres"))
+                .jdbcPassword(values.getOrDefault("jdbc-password", ""))
+                .serverPort(Integer.parseInt(values.getOrDefault("server-port", "9090")))
+                .virtualThreads(Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")))
+                .threads(Integer.parseInt(values.getOrDefault("threads", "16")))
+                .connections(Integer.parseInt(values.getOrDefault("connections", "0")))
+                .stubLatencyMillis(Integer.parseInt(values.getOrDefault("stub-latency", "0")))
+                .warmupSeconds(Integer.parseInt(values.getOrDefault("warmup", "10")))
+                .durationSeconds(Integer.parseInt(values.getOrDefault("duration", "60")))
+                .seed(Long.parseLong(values.getOrDefault("seed", "42")))
+                .datasetSize(DatasetSize.builder()
+                        .owners(Integer.parseInt(values.getOrDefault("owners", "200")))
+                        .bookers(Integer.parseInt(values.getOrDefault("bookers", "2000")))
+                        .itemsPerOwner(Integer.parseInt(values.getOrDefault("items-per-owner", "25")))
+                        .bookingsPerItem(Integer.parseInt(values.getOrDefault("bookings-per-item", "20")))
+                        .commentsPerItem(Integer.parseInt(values.getOrDefault("comments-per-item", "3")))
+                        .requestsPerBooker(Integer.parseInt(values.getOrDefault("requests-per-booker", "1")))
+                        .skew(Double.parseDouble(values.getOrDefault("skew", "1.1")))
+                        .build())
+                .build();
+    }
+}
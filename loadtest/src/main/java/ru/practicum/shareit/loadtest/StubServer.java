@@ -0,0 +1,73 @@
+package ru.practicum.shareit.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заглушка сервера: на любой запрос отвечает {@code {}} через фиксированную задержку, не занимая поток на время
+ * ожидания. Позволяет измерить сам gateway, не упираясь в сервер и базу.
+ */
+class StubServer implements AutoCloseable {
+    private static final String MAX_IDLE_CONNECTIONS = "sun.net.httpserver.maxIdleConnections";
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    private StubServer(HttpServer server, ExecutorService executor, ScheduledExecutorService scheduler) {
+        this.server = server;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    static StubServer start(int port, Duration latency) {
+        // По умолчанию HttpServer держит не больше 200 простаивающих соединений и закрывает лишние,
+        // из-за чего пул gateway большего размера получает NoHttpResponseException.
+        if (System.getProperty(MAX_IDLE_CONNECTIONS) == null) {
+            System.setProperty(MAX_IDLE_CONNECTIONS, "10000");
+        }
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+            ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+            server.createContext("/", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                scheduler.schedule(() -> respond(exchange), latency.toMillis(), TimeUnit.MILLISECONDS);
+            });
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            server.setExecutor(executor);
+            server.start();
+            return new StubServer(server, executor, scheduler);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            out.write(BODY);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.loadtest;
+
+import ru.practicum.shareit.benchmark.Dataset;
+import ru.practicum.shareit.benchmark.ZipfSampler;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Смешанная нагрузка на gateway. Эндпоинты выбираются по весам из {@link Endpoint}, владельцы и вещи -
+ * с тем же перекосом, что и при генерации данных, поэтому крупные владельцы и популярные вещи запрашиваются чаще.
+ */
+public class Workload {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] QUERIES = {"дрель", "пила", "велосипед", "палатка", "складная", "ОТВЕРТ", "рюкзак туристическая"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final Endpoint[] ENDPOINTS = Endpoint.values();
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final ZipfSampler owners;
+    private final ZipfSampler items;
+    private final int totalWeight;
+
+    public Workload(String baseUrl, Dataset dataset, double skew) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.owners = new ZipfSampler(dataset.getOwnerIds().length, skew);
+        this.items = new ZipfSampler(dataset.getItemIds().length, skew);
+        int weight = 0;
+        for (Endpoint endpoint : ENDPOINTS) {
+            weight += endpoint.getWeight();
+        }
+        this.totalWeight = weight;
+    }
+
+    public Endpoint nextEndpoint(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (Endpoint endpoint : ENDPOINTS) {
+            point -= endpoint.getWeight();
+            if (point < 0) {
+                return endpoint;
+            }
+        }
+        return ENDPOINTS[ENDPOINTS.length - 1];
+    }
+
+    public HttpRequest request(Endpoint endpoint, Random random) {
+        long owner = dataset.getOwnerIds()[owners.sample(random)];
+        long item = dataset.getItemIds()[items.sample(random)];
+        long booker = dataset.randomBooker();
+        String state = STATES[random.nextInt(STATES.length)];
+        switch (endpoint) {
+            case ITEM:
+                return get("/items/" + item, random.nextBoolean() ? dataset.ownerOf(item) : booker);
+            case OWNER_ITEMS:
+                return get("/items?from=0&size=20", owner);
+            case SEARCH:
+                return get("/items/search?from=0&size=20&text=" + encode(QUERIES[random.nextInt(QUERIES.length)]), booker);
+            case BOOKER_BOOKINGS:
+                return get("/bookings?from=0&size=20&state=" + state, booker);
+            case OWNER_BOOKINGS:
+                return get("/bookings/owner?from=0&size=20&state=" + state, owner);
+            case CREATE_BOOKING:
+                LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(60));
+                String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", item, start, start.plusDays(2));
+                return builder("/bookings", booker)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            case USER_REQUESTS:
+                return get("/requests", booker);
+            case ALL_REQUESTS:
+                return get("/requests/all?from=0&size=20", owner);
+            case REQUEST:
+            default:
+                return get("/requests/" + dataset.randomRequest(), booker);
+        }
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header(USER_HEADER, String.valueOf(userId));
+    }
+
+    private static String encode(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Регионы кэша второго уровня Hibernate на ehcache, конфигурация берётся из {@code hibernate.javax.cache.uri}.
+ * Менеджер кэшей создаётся для каждой фабрики сессий: провайдер JCache по URI конфигурации отдаёт один менеджер
+ * на всю JVM, и несколько контекстов Spring (как в тестах) читали бы сущности из чужих баз.
+ */
+public class EhcacheRegionFactory extends JCacheRegionFactory {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map properties) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        try {
+            XmlConfiguration configuration = new XmlConfiguration(getUri(settings, properties).toURL());
+            return provider.getCacheManager(URI.create("urn:shareit:hibernate:" + UUID.randomUUID()), configuration);
+        } catch (MalformedURLException e) {
+            throw new CacheException("Некорректный адрес конфигурации ehcache", e);
+        }
+    }
+}
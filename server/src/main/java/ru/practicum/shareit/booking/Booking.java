@@ -29,17 +29,27 @@ public class Booking {
     @Column(name = "end_date")
     LocalDateTime end;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
     User booker;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
     Item item;
 
+    @Column(name = "owner_id")
+    Long ownerId;
+
     @Enumerated(EnumType.STRING)
     Status status;
 
+    @PrePersist
+    void fillOwner() {
+        if (ownerId == null && item != null && item.getOwner() != null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -13,6 +15,8 @@ import java.util.List;
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService service;
 
     @PostMapping
@@ -33,19 +37,35 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllBookingByUser(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @RequestParam(defaultValue = "ALL") String state,
-                                                @RequestParam(defaultValue = "0") int from,
-                                                @RequestParam(defaultValue = "10") int size) {
-        return service.getAllByUser(userId, state, from, size);
-
+    public ResponseEntity<List<BookingDto>> getAllBookingByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @RequestParam(defaultValue = "ALL") String state,
+                                                                @RequestParam(defaultValue = "0") int from,
+                                                                @RequestParam(defaultValue = "10") int size,
+                                                                @RequestParam(required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(service.getAllByUser(userId, state, from, size));
+        }
+        return toCursorResponse(service.getAllByUser(userId, state, BookingCursor.decode(cursor), size));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                 @RequestParam(defaultValue = "ALL") String state,
-                                                 @RequestParam(defaultValue = "0") int from,
-                                                 @RequestParam(defaultValue = "10") int size) {
-        return service.getAllByOwner(ownerId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                                 @RequestParam(defaultValue = "ALL") String state,
+                                                                 @RequestParam(defaultValue = "0") int from,
+                                                                 @RequestParam(defaultValue = "10") int size,
+                                                                 @RequestParam(required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(service.getAllByOwner(ownerId, state, from, size));
+        }
+        return toCursorResponse(service.getAllByOwner(ownerId, state, BookingCursor.decode(cursor), size));
+    }
+
+    private ResponseEntity<List<BookingDto>> toCursorResponse(Slice<BookingDto> bookings) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.hasNext()) {
+            List<BookingDto> content = bookings.getContent();
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.after(content.get(content.size() - 1)).encode());
+        }
+        return response.body(bookings.getContent());
     }
 }
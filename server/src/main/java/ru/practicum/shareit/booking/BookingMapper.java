@@ -1,8 +1,13 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.ItemsBookingDto;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
 
 @Component
 public class BookingMapper {
@@ -13,8 +18,19 @@ public class BookingMapper {
                 .end(booking.getEnd())
                 .start(booking.getStart())
                 .status(booking.getStatus())
-                .booker(booking.getBooker())
-                .item(booking.getItem())
+                .booker((User) Hibernate.unproxy(booking.getBooker()))
+                .item(toItem(booking.getItem()))
+                .build();
+    }
+
+    public BookingDto toBookingDto(BookingView booking) {
+        return BookingDto.builder()
+                .id(booking.getId())
+                .end(booking.getEnd())
+                .start(booking.getStart())
+                .status(booking.getStatus())
+                .booker(toUser(booking.getBookerId(), booking.getBookerName(), booking.getBookerEmail()))
+                .item(toItem(booking))
                 .build();
     }
 
@@ -25,10 +41,54 @@ public class BookingMapper {
                 .build();
     }
 
+    public ItemsBookingDto toItemsBookingDto(NearestBooking booking) {
+        return ItemsBookingDto.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBookerId())
+                .build();
+    }
+
     public Booking toBooking(BookingDto bookingDto) {
         return Booking.builder()
                 .end(bookingDto.getEnd())
                 .start(bookingDto.getStart())
                 .build();
     }
+
+    private Item toItem(Item item) {
+        if (item == null) {
+            return null;
+        }
+        return Item.builder()
+                .id(item.getId())
+                .owner((User) Hibernate.unproxy(item.getOwner()))
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.isAvailable())
+                .build();
+    }
+
+    private Item toItem(BookingView booking) {
+        if (booking.getItemId() == null) {
+            return null;
+        }
+        return Item.builder()
+                .id(booking.getItemId())
+                .owner(toUser(booking.getOwnerId(), booking.getOwnerName(), booking.getOwnerEmail()))
+                .name(booking.getItemName())
+                .description(booking.getItemDescription())
+                .available(booking.getItemAvailable())
+                .build();
+    }
+
+    private User toUser(Long id, String name, String email) {
+        if (id == null) {
+            return null;
+        }
+        return User.builder()
+                .id(id)
+                .name(name)
+                .email(email)
+                .build();
+    }
 }
@@ -1,65 +1,123 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.status.Status;
-import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByItemIdAndBookerIdAndEndBeforeAndStatusNotLike(Long itemId, Long bookerId, LocalDateTime time, Status status);
-
-    Optional<Booking> findFirst1ByItemIdAndStartBeforeOrderByStartDesc(Long itemId, LocalDateTime time);
-
-    Optional<Booking> findFirst1ByItemIdAndStartAfterAndStatusNotLikeOrderByStartAsc(Long itemId, LocalDateTime time, Status status);
-
-    List<Booking> findByItemInAndStartBeforeOrderByStartDesc(List<Item> items, LocalDateTime time);
-
-    List<Booking> findByItemInAndStartAfterAndStatusNotLikeOrderByStartAsc(List<Item> items, LocalDateTime time, Status status);
-
-    Page<Booking> findByBookerIdAndStatusIn(Long bookerId, Set<Status> states, Pageable pageable);
-
-    Page<Booking> findByBookerId(Long bookerId, Pageable pageable);
+    String WITH_DETAILS = "select b from Booking b " +
+            "left join fetch b.booker " +
+            "left join fetch b.item i " +
+            "left join fetch i.owner ";
+    String VIEW = "select new ru.practicum.shareit.booking.dto.BookingView(b.id, b.start, b.end, b.status, " +
+            "bk.id, bk.name, bk.email, i.id, i.name, i.description, i.available, o.id, o.name, o.email) " +
+            "from Booking b " +
+            "left join b.booker bk " +
+            "left join b.item i " +
+            "left join i.owner o ";
+
+    @Override
+    @Query(WITH_DETAILS + "where b.id = ?1")
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findByBookerIdAndStatusIs(Long bookerId, Status state, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime start, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "left join Item i on i.id = b.item " +
-            "left join User u on i.owner = u.id " +
-            "where u.id = ?1 and b.status in (?2) ")
-    Page<Booking> findByOwnerIdAndStatusIn(Long ownerId, Set<Status> states, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "left join Item i on i.id = b.item " +
-            "left join User u on i.owner = u.id " +
-            "where u.id = ?1 and b.status = ?2 ")
-    Page<Booking> findByOwnerIdAndStatus(Long ownerId, Status state, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "left join Item i on i.id = b.item " +
-            "left join User u on i.owner = u.id " +
-            "where u.id = ?1 ")
-    Page<Booking> findByOwnerId(Long ownerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "left join Item i on i.id = b.item " +
-            "left join User u on i.owner = u.id " +
-            "where u.id = ?1 and b.start < ?2 and b.end > ?2 ")
-    Page<Booking> findByOwnerIdCurrent(Long ownerId, LocalDateTime time, Pageable pageable);
+    List<Booking> findByItemIdAndBookerIdAndEndBeforeAndStatusNotLike(Long itemId, Long bookerId, LocalDateTime time, Status status);
 
-    @Query("select b from Booking b " +
-            "left join Item i on i.id = b.item " +
-            "left join User u on i.owner = u.id " +
-            "where u.id = ?1 and b.end < ?2 ")
-    Page<Booking> findByOwnerIdPast(Long ownerId, LocalDateTime start, Pageable pageable);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingInterval(b.id, b.start, b.end) " +
+            "from Booking b where b.item.id = ?1 and b.status in ?2 and b.end > ?3")
+    List<BookingInterval> findIntervalsByItemId(Long itemId, Collection<Status> statuses, LocalDateTime endAfter);
+
+    /**
+     * Для каждой вещи возвращает не более двух строк: последнее начавшееся бронирование (LAST) и ближайшее
+     * следующее неотклоненное (NEXT). Отбор делает база, остальные бронирования вещи не передаются.
+     */
+    @Query(value = "SELECT n.kind AS kind, n.item_id AS itemId, n.id AS id, n.booker_id AS bookerId FROM (" +
+            "SELECT 'LAST' AS kind, b.item_id, b.id, b.booker_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS position " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.start_date < :now " +
+            "UNION ALL " +
+            "SELECT 'NEXT' AS kind, b.item_id, b.id, b.booker_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date, b.id) AS position " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.start_date > :now AND b.status <> 'REJECTED'" +
+            ") n WHERE n.position = 1", nativeQuery = true)
+    List<NearestBooking> findNearestByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    @Query(VIEW +
+            "where b.booker.id = ?1 and b.status in (?2) ")
+    List<BookingView> findByBookerIdAndStatusIn(Long bookerId, Set<Status> states, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.booker.id = ?1 ")
+    List<BookingView> findByBookerId(Long bookerId, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.booker.id = ?1 and b.status = ?2 ")
+    List<BookingView> findByBookerIdAndStatusIs(Long bookerId, Status state, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.booker.id = ?1 and b.start < ?2 and b.end > ?3 ")
+    List<BookingView> findByBookerIdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.booker.id = ?1 and b.end < ?2 ")
+    List<BookingView> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime start, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.ownerId = ?1 and b.status in (?2) ")
+    List<BookingView> findByOwnerIdAndStatusIn(Long ownerId, Set<Status> states, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.ownerId = ?1 and b.status = ?2 ")
+    List<BookingView> findByOwnerIdAndStatus(Long ownerId, Status state, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.ownerId = ?1 ")
+    List<BookingView> findByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.ownerId = ?1 and b.start < ?2 and b.end > ?2 ")
+    List<BookingView> findByOwnerIdCurrent(Long ownerId, LocalDateTime time, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.ownerId = ?1 and b.end < ?2 ")
+    List<BookingView> findByOwnerIdPast(Long ownerId, LocalDateTime start, Pageable pageable);
+
+    @Query(VIEW +
+            "where b.booker.id = :bookerId and b.status in (:statuses) " +
+            "and b.start < :startBefore and b.end > :endAfter and b.end < :endBefore " +
+            "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) " +
+            "order by b.start desc, b.id desc")
+    Slice<BookingView> findByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                             @Param("statuses") Set<Status> statuses,
+                                             @Param("startBefore") LocalDateTime startBefore,
+                                             @Param("endAfter") LocalDateTime endAfter,
+                                             @Param("endBefore") LocalDateTime endBefore,
+                                             @Param("cursorStart") LocalDateTime cursorStart,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    @Query(VIEW +
+            "where b.ownerId = :ownerId and b.status in (:statuses) " +
+            "and b.start < :startBefore and b.end > :endAfter and b.end < :endBefore " +
+            "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) " +
+            "order by b.start desc, b.id desc")
+    Slice<BookingView> findByOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                            @Param("statuses") Set<Status> statuses,
+                                            @Param("startBefore") LocalDateTime startBefore,
+                                            @Param("endAfter") LocalDateTime endAfter,
+                                            @Param("endBefore") LocalDateTime endBefore,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
 }
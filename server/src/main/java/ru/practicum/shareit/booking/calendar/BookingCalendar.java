@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.calendar;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.status.Status;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Занятость вещей: неотклонённые бронирования одной вещи не пересекаются по времени. Реализация выбирается
+ * свойством {@code shareit.booking.calendar}: {@code constraint} полагается на ограничение исключения в PostgreSQL
+ * и работает с несколькими экземплярами сервера, {@code memory} держит интервалы вещей в памяти одного экземпляра.
+ */
+public interface BookingCalendar {
+    Set<Status> BLOCKING = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+    /**
+     * Сохраняет бронирование, если вещь свободна на всё его время.
+     *
+     * @throws ru.practicum.shareit.exception.ValidationException если время пересекается с другим бронированием
+     */
+    Booking reserve(Booking booking);
+
+    /**
+     * Освобождает время уже сохранённого отклонённого бронирования.
+     */
+    void release(Booking booking);
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.calendar;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.sql.SQLException;
+
+/**
+ * Пересечения отсекает ограничение {@code bookings_item_period_excl} (GiST по вещи и {@code tsrange}), база
+ * проверяет вставку по индексу и блокирует только вставки, конфликтующие по той же вещи.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.calendar", havingValue = "constraint")
+@RequiredArgsConstructor
+public class ConstraintBookingCalendar implements BookingCalendar {
+    static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final BookingRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Booking reserve(Booking booking) {
+        try {
+            return repository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            Throwable cause = e.getMostSpecificCause();
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                meterRegistry.counter("shareit.booking.conflicts").increment();
+                throw new ValidationException("Вещь уже забронирована на это время.");
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(Booking booking) {
+        // ограничение не действует на отклонённые бронирования, время освобождает сама база
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.booking.calendar;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.exception.ValidationException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Интервалы вещи загружаются из базы при первом бронировании и дальше ведутся в памяти. Проверка и запись
+ * бронирования идут под блокировкой вещи, поэтому одновременные бронирования разных вещей друг друга не ждут.
+ * Бронирования, записанные в обход сервиса или другим экземпляром, после загрузки не видны: только для H2
+ * и одного экземпляра.
+ * <p>
+ * Закончившиеся интервалы удаляются при бронировании вещи и раз в {@code shareit.booking.calendar-prune-interval},
+ * опустевший календарь вещи убирается из карты и при следующем бронировании загружается заново.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.calendar", havingValue = "memory", matchIfMissing = true)
+public class InMemoryBookingCalendar implements BookingCalendar {
+    private final BookingRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final Duration pruneInterval;
+    private final ConcurrentMap<Long, ItemCalendar> calendars = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-calendar-prune");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InMemoryBookingCalendar(BookingRepository repository, MeterRegistry meterRegistry,
+                                   @Value("${shareit.booking.calendar-prune-interval:1h}") Duration pruneInterval) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.pruneInterval = pruneInterval;
+        meterRegistry.gaugeMapSize("shareit.booking.calendars", List.of(), calendars);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!pruneInterval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::prune, pruneInterval.toMillis(), pruneInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public Booking reserve(Booking booking) {
+        long itemId = booking.getItem().getId();
+        ItemCalendar calendar = lock(itemId, true);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            IntervalTree intervals = calendar.load(repository, itemId, now);
+            intervals.removeEnded(now);
+            if (intervals.overlaps(booking.getStart(), booking.getEnd())) {
+                meterRegistry.counter("shareit.booking.conflicts").increment();
+                throw new ValidationException("Вещь уже забронирована на это время.");
+            }
+            Booking saved = repository.save(booking);
+            intervals.add(saved.getId(), saved.getStart(), saved.getEnd());
+            return saved;
+        } finally {
+            unlock(itemId, calendar);
+        }
+    }
+
+    @Override
+    public void release(Booking booking) {
+        long itemId = booking.getItem().getId();
+        ItemCalendar calendar = lock(itemId, false);
+        if (calendar == null) {
+            return;
+        }
+        try {
+            if (calendar.intervals != null) {
+                calendar.intervals.remove(booking.getId());
+            }
+        } finally {
+            unlock(itemId, calendar);
+        }
+    }
+
+    void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, ItemCalendar> entry : calendars.entrySet()) {
+            ItemCalendar calendar = entry.getValue();
+            calendar.lock.lock();
+            try {
+                if (!calendar.retired && calendar.intervals != null) {
+                    calendar.intervals.removeEnded(now);
+                }
+            } finally {
+                unlock(entry.getKey(), calendar);
+            }
+        }
+    }
+
+    int calendars() {
+        return calendars.size();
+    }
+
+    /**
+     * Календарь, убранный из карты, пока поток ждал его блокировки, помечен {@code retired}: такой поток берёт
+     * из карты новый, иначе два потока проверяли бы пересечения по разным календарям одной вещи.
+     */
+    private ItemCalendar lock(long itemId, boolean create) {
+        while (true) {
+            ItemCalendar calendar = create
+                    ? calendars.computeIfAbsent(itemId, id -> new ItemCalendar())
+                    : calendars.get(itemId);
+            if (calendar == null) {
+                return null;
+            }
+            calendar.lock.lock();
+            if (!calendar.retired) {
+                return calendar;
+            }
+            calendar.lock.unlock();
+        }
+    }
+
+    private void unlock(long itemId, ItemCalendar calendar) {
+        if (!calendar.retired && (calendar.intervals == null || calendar.intervals.size() == 0)) {
+            calendar.retired = true;
+            calendars.remove(itemId, calendar);
+        }
+        calendar.lock.unlock();
+    }
+
+    private static final class ItemCalendar {
+        private final ReentrantLock lock = new ReentrantLock();
+        private IntervalTree intervals;
+        private boolean retired;
+
+        private IntervalTree load(BookingRepository repository, long itemId, LocalDateTime now) {
+            if (intervals == null) {
+                IntervalTree loaded = new IntervalTree();
+                for (BookingInterval interval : repository.findIntervalsByItemId(itemId, BLOCKING, now)) {
+                    loaded.add(interval.getId(), interval.getStart(), interval.getEnd());
+                }
+                intervals = loaded;
+            }
+            return intervals;
+        }
+    }
+}
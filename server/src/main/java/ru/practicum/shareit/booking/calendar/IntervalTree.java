@@ -0,0 +1,185 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Интервалы бронирований одной вещи: декартово дерево по началу (и id при равных началах), в узлах хранится
+ * наибольший конец поддерева. Интервалы полуоткрытые, бронирование, которое начинается в момент окончания
+ * другого, с ним не пересекается. Загруженные из базы старые бронирования могут пересекаться между собой,
+ * проверка от этого не зависит. Удаляются интервалы по id бронирования: начало, прочитанное из базы, может
+ * быть округлено и не совпасть с ключом узла. Не потокобезопасно.
+ */
+final class IntervalTree {
+    private final Map<Long, LocalDateTime> starts = new HashMap<>();
+    private Node root;
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlaps(root, start, end);
+    }
+
+    void add(long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        starts.put(id, start);
+        root = insert(root, new Node(id, start, end));
+    }
+
+    void remove(long id) {
+        LocalDateTime start = starts.remove(id);
+        if (start != null) {
+            root = delete(root, id, start);
+        }
+    }
+
+    /**
+     * Удаляет интервалы, закончившиеся к {@code now}: новые бронирования начинаются не раньше текущего момента
+     * и с ними уже не пересекутся.
+     */
+    void removeEnded(LocalDateTime now) {
+        root = removeEnded(root, now);
+    }
+
+    int size() {
+        return starts.size();
+    }
+
+    private static boolean overlaps(Node node, LocalDateTime start, LocalDateTime end) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return false;
+        }
+        if (node.start.isBefore(end) && node.end.isAfter(start)) {
+            return true;
+        }
+        if (overlaps(node.left, start, end)) {
+            return true;
+        }
+        return node.start.isBefore(end) && overlaps(node.right, start, end);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return update(node);
+    }
+
+    private Node removeEnded(Node node, LocalDateTime now) {
+        if (node == null) {
+            return null;
+        }
+        if (!node.maxEnd.isAfter(now)) {
+            forget(node);
+            return null;
+        }
+        node.left = removeEnded(node.left, now);
+        if (node.start.isBefore(now)) {
+            node.right = removeEnded(node.right, now);
+        }
+        if (!node.end.isAfter(now)) {
+            starts.remove(node.id);
+            return merge(node.left, node.right);
+        }
+        return update(node);
+    }
+
+    private void forget(Node node) {
+        if (node != null) {
+            starts.remove(node.id);
+            forget(node.left);
+            forget(node.right);
+        }
+    }
+
+    private static Node delete(Node node, long id, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, id, start);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, id, start);
+        } else {
+            return merge(node.left, node.right);
+        }
+        return update(node);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        if (node != null) {
+            LocalDateTime maxEnd = node.end;
+            if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = node.left.maxEnd;
+            }
+            if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = node.right.maxEnd;
+            }
+            node.maxEnd = maxEnd;
+        }
+        return node;
+    }
+
+    private static int compare(LocalDateTime start, long id, Node node) {
+        int comparison = start.compareTo(node.start);
+        return comparison != 0 ? comparison : Long.compare(id, node.id);
+    }
+
+    private static final class Node {
+        private final long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
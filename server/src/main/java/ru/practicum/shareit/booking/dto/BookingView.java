@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.status.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование с вещью, арендатором и владельцем одной строкой для списков бронирований, см. {@code BookingRepository#VIEW}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingView {
+    Long id;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    Status status;
+
+    Long bookerId;
+
+    String bookerName;
+
+    String bookerEmail;
+
+    Long itemId;
+
+    String itemName;
+
+    String itemDescription;
+
+    Boolean itemAvailable;
+
+    Long ownerId;
+
+    String ownerName;
+
+    String ownerEmail;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Последнее или ближайшее следующее бронирование вещи, см. {@code BookingRepository#findNearestByItemIdIn}.
+ */
+public interface NearestBooking {
+    String LAST = "LAST";
+    String NEXT = "NEXT";
+
+    String getKind();
+
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    default boolean isNext() {
+        return NEXT.equals(getKind());
+    }
+}
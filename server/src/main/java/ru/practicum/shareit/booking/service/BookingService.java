@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.util.List;
@@ -14,4 +16,8 @@ public interface BookingService {
     List<BookingDto> getAllByUser(long userId, String state, int from, int size);
 
     List<BookingDto> getAllByOwner(long ownerId, String state, int from, int size);
+
+    Slice<BookingDto> getAllByUser(long userId, String state, BookingCursor cursor, int size);
+
+    Slice<BookingDto> getAllByOwner(long ownerId, String state, BookingCursor cursor, int size);
 }
@@ -1,19 +1,26 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.status.State;
+import ru.practicum.shareit.booking.status.StateFilter;
 import ru.practicum.shareit.booking.status.Status;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
@@ -30,6 +37,9 @@ public class BookingServiceImpl implements BookingService {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingRepository repository;
+    private final InvalidationBus invalidationBus;
+    private final IdFilters idFilters;
+    private final BookingCalendar calendar;
 
     @Override
     public BookingDto create(long userId, BookingDto bookingDto) {
@@ -40,7 +50,10 @@ public class BookingServiceImpl implements BookingService {
                 validateTime(booking.getStart(), booking.getEnd());
                 booking.setBooker(userService.getUser(userId));
                 booking.setStatus(Status.WAITING);
-                return mapper.toBookingDto(repository.save(booking));
+                Booking saved = calendar.reserve(booking);
+                idFilters.add(EntityType.BOOKING, saved.getId());
+                invalidationBus.publish(EntityType.BOOKING, saved.getId());
+                return mapper.toBookingDto(saved);
             } else {
                 throw new NotFoundException("Вы являетесь владельцем вещи - бронирование невозможно.");
             }
@@ -62,6 +75,10 @@ public class BookingServiceImpl implements BookingService {
                 booking.setStatus(Status.REJECTED);
             }
             repository.save(booking);
+            if (!approved) {
+                calendar.release(booking);
+            }
+            invalidationBus.publish(EntityType.BOOKING, bookingId);
             return mapper.toBookingDto(booking);
         } else {
             throw new NotFoundException("Вы не являетесь владельцем вещи.");
@@ -81,7 +98,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> getAllByUser(long bookerId, String stateStr, int from, int size) {
         userService.getById(bookerId);
-        Page<Booking> bookings;
+        List<BookingView> bookings;
         int pageNumber = (int) Math.ceil((double) from / size);
         State state = State.fromString(stateStr);
         switch (state) {
@@ -119,7 +136,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> getAllByOwner(long ownerId, String stateStr, int from, int size) {
         userService.getById(ownerId);
-        Page<Booking> bookings;
+        List<BookingView> bookings;
         int pageNumber = (int) Math.ceil((double) from / size);
         State state = State.fromString(stateStr);
         switch (state) {
@@ -154,9 +171,34 @@ public class BookingServiceImpl implements BookingService {
                 .collect(toList());
     }
 
+    @Override
+    public Slice<BookingDto> getAllByUser(long bookerId, String stateStr, BookingCursor cursor, int size) {
+        userService.getById(bookerId);
+        StateFilter filter = StateFilter.of(State.fromString(stateStr), LocalDateTime.now());
+        return repository.findByBookerIdAfterCursor(bookerId, filter.getStatuses(), filter.getStartBefore(),
+                        filter.getEndAfter(), filter.getEndBefore(), cursor.getStart(), cursor.getId(), PageRequest.of(0, size))
+                .map(mapper::toBookingDto);
+    }
+
+    @Override
+    public Slice<BookingDto> getAllByOwner(long ownerId, String stateStr, BookingCursor cursor, int size) {
+        userService.getById(ownerId);
+        StateFilter filter = StateFilter.of(State.fromString(stateStr), LocalDateTime.now());
+        return repository.findByOwnerIdAfterCursor(ownerId, filter.getStatuses(), filter.getStartBefore(),
+                        filter.getEndAfter(), filter.getEndBefore(), cursor.getStart(), cursor.getId(), PageRequest.of(0, size))
+                .map(mapper::toBookingDto);
+    }
+
     private Booking getBooking(long id) {
+        if (idFilters.isAbsent(EntityType.BOOKING, id)) {
+            throw NotFoundException.withoutStackTrace(notFound(id));
+        }
         Optional<Booking> booking = repository.findById(id);
-        return booking.orElseThrow(() -> new NotFoundException(String.format("Бронирования с id %d - не существует.", id)));
+        return booking.orElseThrow(() -> new NotFoundException(notFound(id)));
+    }
+
+    private static String notFound(long id) {
+        return String.format("Бронирования с id %d - не существует.", id);
     }
 
     private void validateTime(LocalDateTime start, LocalDateTime end) {
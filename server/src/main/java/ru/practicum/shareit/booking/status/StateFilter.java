@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.status;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Value
+public class StateFilter {
+    private static final LocalDateTime MIN = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    Set<Status> statuses;
+
+    LocalDateTime startBefore;
+
+    LocalDateTime endAfter;
+
+    LocalDateTime endBefore;
+
+    public static StateFilter of(State state, LocalDateTime now) {
+        switch (state) {
+            case FUTURE:
+                return new StateFilter(EnumSet.of(Status.WAITING, Status.APPROVED), MAX, MIN, MAX);
+            case REJECTED:
+                return new StateFilter(EnumSet.of(Status.REJECTED), MAX, MIN, MAX);
+            case WAITING:
+                return new StateFilter(EnumSet.of(Status.WAITING), MAX, MIN, MAX);
+            case CURRENT:
+                return new StateFilter(EnumSet.allOf(Status.class), now, now, MAX);
+            case PAST:
+                return new StateFilter(EnumSet.allOf(Status.class), MAX, MIN, now);
+            case ALL:
+            default:
+                return new StateFilter(EnumSet.allOf(Status.class), MAX, MIN, MAX);
+        }
+    }
+}
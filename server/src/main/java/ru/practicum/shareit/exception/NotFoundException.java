@@ -4,4 +4,15 @@ public class NotFoundException extends RuntimeException {
     public NotFoundException(String message) {
         super(message);
     }
+
+    private NotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Для отказа без обращения к базе: стек у таких исключений не нужен, а его заполнение дороже самой проверки.
+     */
+    public static NotFoundException withoutStackTrace(String message) {
+        return new NotFoundException(message, false);
+    }
 }
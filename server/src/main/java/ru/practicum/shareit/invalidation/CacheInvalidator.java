@@ -0,0 +1,69 @@
+package ru.practicum.shareit.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.lookup.IdFilters;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserCache;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сбрасывает локальные кэши по изменению, пришедшему с другого экземпляра: кэш пользователей,
+ * кэш второго уровня Hibernate и поисковый индекс вещей, и добавляет id в фильтр существующих id.
+ * Задержка доставки считается по часам двух экземпляров и пишется в {@code shareit.invalidation.lag}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+    private final UserCache userCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex searchIndex;
+    private final IdFilters idFilters;
+    private final MeterRegistry meterRegistry;
+
+    public void evict(EntityChange change) {
+        Timer.builder("shareit.invalidation.lag")
+                .tag("type", change.getType().name())
+                .register(meterRegistry)
+                .record(Math.max(0, System.currentTimeMillis() - change.getPublishedAt()), TimeUnit.MILLISECONDS);
+        idFilters.add(change.getType(), change.getId());
+        switch (change.getType()) {
+            case USER:
+                userCache.invalidate(change.getId());
+                entityManagerFactory.getCache().evict(User.class, change.getId());
+                break;
+            case ITEM:
+                entityManagerFactory.getCache().evict(Item.class, change.getId());
+                itemRepository.findById(change.getId())
+                        .ifPresentOrElse(searchIndex::index, () -> searchIndex.remove(change.getId()));
+                break;
+            case REQUEST:
+                entityManagerFactory.getCache().evict(ItemRequest.class, change.getId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Для случая, когда часть изменений могла быть пропущена, например при переподключении к базе.
+     */
+    public void evictAll() {
+        userCache.invalidateAll();
+        entityManagerFactory.getCache().evictAll();
+        searchIndex.rebuild();
+        idFilters.rebuild();
+        log.info("Локальные кэши сброшены полностью");
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.Value;
+
+/**
+ * Изменение сущности на одном из экземпляров сервера: {@code origin} — экземпляр, записавший изменение,
+ * {@code publishedAt} — время публикации в миллисекундах от эпохи.
+ */
+@Value
+public class EntityChange {
+    private static final String SEPARATOR = ":";
+
+    EntityType type;
+    long id;
+    String origin;
+    long publishedAt;
+
+    public String toPayload() {
+        return String.join(SEPARATOR, type.name(), Long.toString(id), origin, Long.toString(publishedAt));
+    }
+
+    public static EntityChange parse(String payload) {
+        String[] parts = payload.split(SEPARATOR);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException(String.format("Некорректное сообщение об изменении: %s", payload));
+        }
+        return new EntityChange(EntityType.valueOf(parts[0]), Long.parseLong(parts[1]), parts[2],
+                Long.parseLong(parts[3]));
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.invalidation;
+
+public enum EntityType {
+    USER,
+    ITEM,
+    BOOKING,
+    REQUEST
+}
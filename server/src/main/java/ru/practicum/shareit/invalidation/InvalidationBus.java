@@ -0,0 +1,10 @@
+package ru.practicum.shareit.invalidation;
+
+/**
+ * Рассылает изменения сущностей остальным экземплярам сервера, чтобы они сбросили локальные кэши.
+ * Свои кэши экземпляр, записавший изменение, обновляет сам, и своё сообщение он пропускает.
+ * Публиковать нужно после фиксации изменения в базе.
+ */
+public interface InvalidationBus {
+    void publish(EntityType type, long id);
+}
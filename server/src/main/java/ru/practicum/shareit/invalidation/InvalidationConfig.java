@@ -0,0 +1,37 @@
+package ru.practicum.shareit.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Шина выбирается свойством {@code shareit.invalidation.bus}: {@code postgres} для нескольких экземпляров
+ * на общей базе PostgreSQL, {@code loopback} для H2 и тестов.
+ */
+@Configuration
+public class InvalidationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit.invalidation.bus", havingValue = "postgres")
+    public PostgresInvalidationBus postgresInvalidationBus(JdbcTemplate jdbcTemplate,
+                                                           DataSourceProperties dataSourceProperties,
+                                                           CacheInvalidator invalidator,
+                                                           MeterRegistry meterRegistry) {
+        DataSource listenerSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        return new PostgresInvalidationBus(jdbcTemplate, listenerSource::getConnection, invalidator, meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit.invalidation.bus", havingValue = "loopback", matchIfMissing = true)
+    public LoopbackInvalidationBus loopbackInvalidationBus(CacheInvalidator invalidator, MeterRegistry meterRegistry) {
+        return new LoopbackInvalidationBus(invalidator, meterRegistry);
+    }
+}
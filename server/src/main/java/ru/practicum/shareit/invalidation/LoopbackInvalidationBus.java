@@ -0,0 +1,50 @@
+package ru.practicum.shareit.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Шина внутри одной JVM: все запущенные экземпляры шины считаются узлами, сообщение доставляется
+ * остальным синхронно. Для тестов и H2, где несколько контекстов приложения живут в одном процессе.
+ */
+public class LoopbackInvalidationBus implements InvalidationBus {
+    private static final Set<LoopbackInvalidationBus> NODES = new CopyOnWriteArraySet<>();
+
+    private final String node = UUID.randomUUID().toString();
+    private final CacheInvalidator invalidator;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    public LoopbackInvalidationBus(CacheInvalidator invalidator, MeterRegistry meterRegistry) {
+        this(invalidator, meterRegistry, Clock.systemUTC());
+    }
+
+    LoopbackInvalidationBus(CacheInvalidator invalidator, MeterRegistry meterRegistry, Clock clock) {
+        this.invalidator = invalidator;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public void start() {
+        NODES.add(this);
+    }
+
+    public void close() {
+        NODES.remove(this);
+    }
+
+    @Override
+    public void publish(EntityType type, long id) {
+        EntityChange change = new EntityChange(type, id, node, clock.millis());
+        meterRegistry.counter("shareit.invalidation.published", "type", type.name()).increment();
+        for (LoopbackInvalidationBus bus : NODES) {
+            if (bus != this) {
+                bus.invalidator.evict(change);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Шина на LISTEN/NOTIFY PostgreSQL: публикация — {@code pg_notify} через пул соединений, приём — отдельное
+ * соединение, которое слушает канал в фоновом потоке. Уведомления, пришедшие пока соединения не было,
+ * потеряны, поэтому после переподключения локальные кэши сбрасываются полностью. Если публикация не удалась,
+ * остальные экземпляры видят старые данные до истечения времени жизни записей в кэшах.
+ */
+@Slf4j
+public class PostgresInvalidationBus implements InvalidationBus {
+    static final String CHANNEL = "shareit_invalidation";
+    private static final int POLL_MILLIS = 500;
+    private static final long RETRY_MILLIS = 1000;
+
+    private final String node = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final Callable<Connection> connections;
+    private final CacheInvalidator invalidator;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock = Clock.systemUTC();
+    private final Thread listener = new Thread(this::listen, "invalidation-listener");
+    private volatile boolean running;
+    private volatile Connection connection;
+
+    /**
+     * @param connections открывает соединение для прослушивания канала, не из общего пула
+     */
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate, Callable<Connection> connections,
+                                   CacheInvalidator invalidator, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.connections = connections;
+        this.invalidator = invalidator;
+        this.meterRegistry = meterRegistry;
+        listener.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        listener.start();
+    }
+
+    public void close() throws InterruptedException {
+        running = false;
+        closeConnection();
+        listener.interrupt();
+        listener.join(RETRY_MILLIS + POLL_MILLIS);
+    }
+
+    @Override
+    public void publish(EntityType type, long id) {
+        EntityChange change = new EntityChange(type, id, node, clock.millis());
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> { }, CHANNEL, change.toPayload());
+            meterRegistry.counter("shareit.invalidation.published", "type", type.name()).increment();
+        } catch (DataAccessException e) {
+            meterRegistry.counter("shareit.invalidation.failed", "type", type.name()).increment();
+            log.warn("Не удалось разослать изменение {} {}: {}", type, id, e.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try {
+                connection = connections.call();
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnect) {
+                    invalidator.evictAll();
+                }
+                log.info("Подписка на изменения других экземпляров в канале {}", CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (running) {
+                    log.warn("Потеряно соединение для приёма изменений, повтор через {} мс: {}", RETRY_MILLIS,
+                            e.getMessage());
+                    reconnect = true;
+                    pause();
+                }
+            } finally {
+                closeConnection();
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            EntityChange change = EntityChange.parse(payload);
+            if (!node.equals(change.getOrigin())) {
+                invalidator.evict(change);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обработать изменение {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Соединение для приёма изменений закрыто с ошибкой", e);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.user.User;
 
 import java.util.ArrayList;
 
@@ -10,7 +13,7 @@ public class ItemMapper {
     public ItemDto toItemDto(Item item) {
         return ItemDto.builder()
                 .id(item.getId())
-                .owner(item.getOwner())
+                .owner((User) Hibernate.unproxy(item.getOwner()))
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.isAvailable())
@@ -19,6 +22,22 @@ public class ItemMapper {
                 .build();
     }
 
+    public ItemDto toItemDto(ItemView item) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .owner(item.getOwnerId() != null ? User.builder()
+                        .id(item.getOwnerId())
+                        .name(item.getOwnerName())
+                        .email(item.getOwnerEmail())
+                        .build() : null)
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.isAvailable())
+                .comments(new ArrayList<>())
+                .requestId(item.getRequestId())
+                .build();
+    }
+
     public Item toItem(ItemDto itemDto) {
         return Item.builder()
                 .name(itemDto.getName())
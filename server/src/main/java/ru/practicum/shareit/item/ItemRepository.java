@@ -1,22 +1,53 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.search.IndexedItem;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
-
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> findByOwnerId(Long userId, Pageable pageable);
+    String WITH_OWNER = "select i from Item i " +
+            "left join fetch i.owner ";
+    String VIEW = "select new ru.practicum.shareit.item.dto.ItemView(i.id, i.name, i.description, i.available, " +
+            "o.id, o.name, o.email, i.request.id) " +
+            "from Item i " +
+            "left join i.owner o ";
+
+    /**
+     * Вещь и её владелец берутся из кэша второго уровня; владелец загружается в той же сессии,
+     * чтобы его можно было читать после выхода из репозитория.
+     */
+    @Transactional(readOnly = true)
+    default Optional<Item> findWithOwnerById(long id) {
+        Optional<Item> item = findById(id);
+        item.ifPresent(found -> Hibernate.initialize(found.getOwner()));
+        return item;
+    }
+
+    @Query(VIEW + "where i.id in (?1)")
+    List<ItemView> findByIdIn(Collection<Long> ids);
 
+    @Query(VIEW + "where i.owner.id = ?1")
+    List<ItemView> findByOwnerId(Long userId, Pageable pageable);
+
+    @Query(WITH_OWNER + "where i.request in (?1) order by i.id asc")
     List<Item> findByRequestInOrderByIdAsc(List<ItemRequest> requests);
 
-    @Query("select i from Item i" +
+    @Query(VIEW +
             " where (upper(i.name) like upper(concat('%', ?1, '%')) " +
             " or upper(i.description) like upper(concat('%', ?1, '%'))) " +
             " and (i.available = true)")
-    Page<Item> search(String text, Pageable pageable);
+    List<ItemView> search(String text, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description, i.available) " +
+            "from Item i")
+    List<IndexedItem> findAllForIndex();
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.comment;
 
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.dto.CommentView;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
@@ -27,4 +28,13 @@ public class CommentMapper {
                 .created(comment.getCreated())
                 .build();
     }
+
+    public CommentDto toCommentDto(CommentView comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .authorName(comment.getAuthorName())
+                .text(comment.getText())
+                .created(comment.getCreated())
+                .build();
+    }
 }
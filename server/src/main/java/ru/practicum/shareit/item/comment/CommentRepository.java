@@ -2,12 +2,20 @@ package ru.practicum.shareit.item.comment;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.item.Item;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.comment.dto.CommentView;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    String VIEW = "select new ru.practicum.shareit.item.comment.dto.CommentView(c.item.id, c.id, c.text, a.name, c.created) " +
+            "from Comment c " +
+            "left join c.author a ";
 
-    List<Comment> findByItemIn(List<Item> items, Sort created);
+    @Query(VIEW + "where c.item.id = ?1")
+    List<CommentView> findAllByItemId(Long itemId);
+
+    @Query(VIEW + "where c.item.id in (?1)")
+    List<CommentView> findByItemIdIn(Collection<Long> itemIds, Sort created);
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.comment.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Комментарий с именем автора; по id вещи комментарии к списку вещей раскладываются по вещам.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CommentView {
+    Long itemId;
+
+    Long id;
+
+    String text;
+
+    String authorName;
+
+    LocalDateTime created;
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Вещь с владельцем для списков вещей и выдачи поиска, см. {@code ItemRepository#VIEW}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemView {
+    Long id;
+
+    String name;
+
+    String description;
+
+    boolean available;
+
+    Long ownerId;
+
+    String ownerName;
+
+    String ownerEmail;
+
+    Long requestId;
+}
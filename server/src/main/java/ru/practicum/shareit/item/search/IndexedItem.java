@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IndexedItem {
+    Long id;
+
+    String name;
+
+    String description;
+
+    boolean available;
+}
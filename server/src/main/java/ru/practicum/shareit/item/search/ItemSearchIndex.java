@@ -0,0 +1,231 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Инвертированный индекс по словам названия и описания вещей. Словарь суффиксов позволяет находить слова
+ * по любой подстроке, поэтому поиск совпадает по смыслу с прежним {@code like '%text%'}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_WORD_WEIGHT = 1;
+
+    private final ItemRepository repository;
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<String>> suffixes = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @PostConstruct
+    public void rebuild() {
+        List<IndexedItem> items = repository.findAllForIndex();
+        writeLock.lock();
+        try {
+            documents.clear();
+            postings.clear();
+            suffixes.clear();
+            items.forEach(item -> put(item.getId(), item.getName(), item.getDescription(), item.isAvailable()));
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Поисковый индекс построен, вещей в индексе: {}", items.size());
+    }
+
+    public void index(Item item) {
+        writeLock.lock();
+        try {
+            put(item.getId(), item.getName(), item.getDescription(), item.isAvailable());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        writeLock.lock();
+        try {
+            Document removed = documents.remove(itemId);
+            if (removed != null) {
+                unlink(itemId, removed.tokens);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isSearchable(String text) {
+        return !tokenize(normalize(text)).isEmpty();
+    }
+
+    public List<Long> search(String text, int offset, int limit) {
+        String query = normalize(text);
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> candidates = null;
+        for (String token : sortByLength(queryTokens)) {
+            Set<Long> matched = candidatesFor(token);
+            if (candidates == null) {
+                candidates = matched;
+            } else {
+                candidates.retainAll(matched);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            Document document = documents.get(id);
+            if (document != null && document.available) {
+                int score = score(document, query, queryTokens);
+                if (score > 0) {
+                    hits.add(new Hit(id, score));
+                }
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.comparingInt(Hit::getScore).reversed().thenComparing(Hit::getId))
+                .skip(offset)
+                .limit(limit)
+                .map(Hit::getId)
+                .collect(toList());
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private void put(Long id, String name, String description, boolean available) {
+        Document document = new Document(normalize(name), normalize(description), available);
+        Document previous = documents.put(id, document);
+        if (previous != null) {
+            Set<String> stale = new HashSet<>(previous.tokens);
+            stale.removeAll(document.tokens);
+            unlink(id, stale);
+        }
+        for (String token : document.tokens) {
+            postings.computeIfAbsent(token, key -> {
+                for (int i = 0; i < key.length(); i++) {
+                    suffixes.computeIfAbsent(key.substring(i), suffix -> ConcurrentHashMap.newKeySet()).add(key);
+                }
+                return ConcurrentHashMap.newKeySet();
+            }).add(id);
+        }
+    }
+
+    private void unlink(Long id, Collection<String> tokens) {
+        for (String token : tokens) {
+            Set<Long> ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+                for (int i = 0; i < token.length(); i++) {
+                    String suffix = token.substring(i);
+                    Set<String> owners = suffixes.get(suffix);
+                    if (owners != null) {
+                        owners.remove(token);
+                        if (owners.isEmpty()) {
+                            suffixes.remove(suffix);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private Set<Long> candidatesFor(String queryToken) {
+        Set<Long> result = new HashSet<>();
+        for (Set<String> tokens : suffixes.subMap(queryToken, true, queryToken + Character.MAX_VALUE, true).values()) {
+            for (String token : tokens) {
+                Set<Long> ids = postings.get(token);
+                if (ids != null) {
+                    result.addAll(ids);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int score(Document document, String query, Set<String> queryTokens) {
+        int score = 0;
+        if (document.name.contains(query)) {
+            score += NAME_WEIGHT;
+        }
+        if (document.description.contains(query)) {
+            score += DESCRIPTION_WEIGHT;
+        }
+        if (score > 0 && document.tokens.containsAll(queryTokens)) {
+            score += EXACT_WORD_WEIGHT;
+        }
+        return score;
+    }
+
+    private static List<String> sortByLength(Set<String> tokens) {
+        List<String> sorted = new ArrayList<>(tokens);
+        sorted.sort(Comparator.comparingInt(String::length).reversed());
+        return sorted;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Set<String> tokens;
+
+        private Document(String name, String description, boolean available) {
+            this.name = name;
+            this.description = description;
+            this.available = available;
+            this.tokens = tokenize(name);
+            this.tokens.addAll(tokenize(description));
+        }
+    }
+
+    @Value
+    private static class Hit {
+        Long id;
+        int score;
+    }
+}
@@ -1,24 +1,30 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.booking.status.Status;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.dto.CommentView;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -26,6 +32,7 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -45,6 +52,9 @@ public class ItemServiceImpl implements ItemService {
     private final ItemMapper mapper;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex searchIndex;
+    private final InvalidationBus invalidationBus;
+    private final IdFilters idFilters;
 
     @Override
     public ItemDto add(long id, ItemDto itemDto) {
@@ -53,7 +63,11 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getRequestId() != null) {
             item.setRequest(requestService.reply(itemDto.getRequestId()));
         }
-        return mapper.toItemDto(repository.save(item));
+        Item saved = repository.save(item);
+        searchIndex.index(saved);
+        idFilters.add(EntityType.ITEM, saved.getId());
+        invalidationBus.publish(EntityType.ITEM, saved.getId());
+        return mapper.toItemDto(saved);
     }
 
     @Override
@@ -65,6 +79,8 @@ public class ItemServiceImpl implements ItemService {
             updateDescription(item, itemDto);
             updateAvailable(item, itemDto);
             repository.save(item);
+            searchIndex.index(item);
+            invalidationBus.publish(EntityType.ITEM, itemId);
             return mapper.toItemDto(item);
         } else {
             throw new NotFoundException(String.format("Вы не являетесь владельцем вещи под номером %d", itemId));
@@ -76,10 +92,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = getItem(id);
         ItemDto itemDto = mapper.toItemDto(item);
         if (item.getOwner().getId().equals(userId)) {
-            bookingRepository.findFirst1ByItemIdAndStartBeforeOrderByStartDesc(id, LocalDateTime.now())
-                    .ifPresent(booking -> itemDto.setLastBooking(bookingMapper.toItemsBookingDto(booking)));
-            bookingRepository.findFirst1ByItemIdAndStartAfterAndStatusNotLikeOrderByStartAsc(id, LocalDateTime.now(), Status.REJECTED)
-                    .ifPresent(booking -> itemDto.setNextBooking(bookingMapper.toItemsBookingDto(booking)));
+            setNearestBookings(List.of(itemDto));
         }
         itemDto.setComments(commentRepository.findAllByItemId(item.getId())
                 .stream()
@@ -91,33 +104,21 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemDto> getAll(long userId, int from, int size) {
         int pageNumber = (int) Math.ceil((double) from / size);
-        Page<Item> itemsPage = repository.findByOwnerId(userId, PageRequest.of(pageNumber, size, Sort.by("id").ascending()));
-        List<Item> items = itemsPage.toList();
-
-        Map<Long, Booking> bookingsBeforeMap = bookingRepository.findByItemInAndStartBeforeOrderByStartDesc(items, LocalDateTime.now())
-                .stream()
-                .filter(booking -> booking.getItem() != null)
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(), (b1, b2) -> b1));
-        Map<Long, Booking> bookingsAfterMap = bookingRepository.findByItemInAndStartAfterAndStatusNotLikeOrderByStartAsc(items, LocalDateTime.now(), Status.REJECTED)
-                .stream()
-                .filter(booking -> booking.getItem() != null)
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(), (b1, b2) -> b1));
-        Map<Long, List<CommentDto>> commentsMap = commentRepository.findByItemIn(items, Sort.by(DESC, "created"))
-                .stream()
-                .filter(comment -> comment.getItem() != null)
-                .collect(groupingBy(comment -> comment.getItem().getId(), Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
-
-        List<ItemDto> itemDtos = items
+        List<ItemDto> itemDtos = repository.findByOwnerId(userId, PageRequest.of(pageNumber, size, Sort.by("id").ascending()))
                 .stream()
                 .map(mapper::toItemDto)
-                .peek(item -> {
-                    item.setComments(commentsMap.getOrDefault(item.getId(), List.of()));
-                    Optional.ofNullable(bookingsBeforeMap.get(item.getId()))
-                            .ifPresent(booking -> item.setLastBooking(bookingMapper.toItemsBookingDto(booking)));
-                    Optional.ofNullable(bookingsAfterMap.get(item.getId()))
-                            .ifPresent(booking -> item.setNextBooking(bookingMapper.toItemsBookingDto(booking)));
-                })
                 .collect(toList());
+        if (itemDtos.isEmpty()) {
+            return itemDtos;
+        }
+        List<Long> ids = itemDtos.stream().map(ItemDto::getId).collect(toList());
+
+        Map<Long, List<CommentDto>> commentsMap = commentRepository.findByItemIdIn(ids, Sort.by(DESC, "created"))
+                .stream()
+                .collect(groupingBy(CommentView::getItemId, Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
+
+        itemDtos.forEach(item -> item.setComments(commentsMap.getOrDefault(item.getId(), List.of())));
+        setNearestBookings(itemDtos);
         return itemDtos;
     }
 
@@ -127,8 +128,23 @@ public class ItemServiceImpl implements ItemService {
             return List.of();
         } else {
             int pageNumber = (int) Math.ceil((double) from / size);
-            Page<Item> items = repository.search(text, PageRequest.of(pageNumber, size));
-            return items.stream()
+            PageRequest page = PageRequest.of(pageNumber, size);
+            if (!searchIndex.isSearchable(text)) {
+                return repository.search(text, page)
+                        .stream()
+                        .map(mapper::toItemDto)
+                        .collect(toList());
+            }
+            List<Long> ids = searchIndex.search(text, (int) page.getOffset(), page.getPageSize());
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, ItemView> items = repository.findByIdIn(ids)
+                    .stream()
+                    .collect(Collectors.toMap(ItemView::getId, Function.identity()));
+            return ids.stream()
+                    .map(items::get)
+                    .filter(Objects::nonNull)
                     .map(mapper::toItemDto)
                     .collect(toList());
         }
@@ -149,8 +165,31 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Item getItem(long id) {
-        Optional<Item> optional = repository.findById(id);
-        return optional.orElseThrow(() -> new NotFoundException(String.format("Вещь с id %d - не существует.", id)));
+        if (idFilters.isAbsent(EntityType.ITEM, id)) {
+            throw NotFoundException.withoutStackTrace(notFound(id));
+        }
+        Optional<Item> optional = repository.findWithOwnerById(id);
+        return optional.orElseThrow(() -> new NotFoundException(notFound(id)));
+    }
+
+    private static String notFound(long id) {
+        return String.format("Вещь с id %d - не существует.", id);
+    }
+
+    private void setNearestBookings(List<ItemDto> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemDto> itemsById = items.stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        for (NearestBooking booking : bookingRepository.findNearestByItemIdIn(itemsById.keySet(), LocalDateTime.now())) {
+            ItemDto item = itemsById.get(booking.getItemId());
+            if (booking.isNext()) {
+                item.setNextBooking(bookingMapper.toItemsBookingDto(booking));
+            } else {
+                item.setLastBooking(bookingMapper.toItemsBookingDto(booking));
+            }
+        }
     }
 
     private void updateName(Item item, ItemDto itemDto) {
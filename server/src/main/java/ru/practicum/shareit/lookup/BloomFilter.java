@@ -0,0 +1,69 @@
+package ru.practicum.shareit.lookup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Фильтр Блума по id: для добавленного id {@link #mightContain} всегда {@code true}, для остальных ошибается
+ * с заданной вероятностью. Потокобезопасен; удалить id нельзя, фильтр только перестраивается заново.
+ */
+final class BloomFilter {
+    private static final double LN2 = Math.log(2);
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    BloomFilter(long expected, double falsePositiveRate) {
+        long count = Math.max(expected, 1);
+        long wanted = (long) Math.ceil(-count * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int length = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (wanted + 63) / 64));
+        this.words = new AtomicLongArray(length);
+        this.bits = (long) length * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / count * LN2));
+    }
+
+    void put(long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashes; i++) {
+            long bit = bit(hash, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    boolean mightContain(long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashes; i++) {
+            long bit = bit(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Каждая позиция перемешивается заново: при числе бит, кратном 64, шаг двойного хеширования
+     * в маленьком фильтре может попадать в одни и те же биты.
+     */
+    private long bit(long hash, int index) {
+        return (mix(hash + index * SEED) & Long.MAX_VALUE) % bits;
+    }
+
+    /**
+     * Финальное перемешивание MurmurHash3: соседние id дают несвязанные хеши.
+     */
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.lookup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Id одного вида сущностей. Более новые id, чем при перестройке, могли появиться в обход этого экземпляра
+ * (на другом экземпляре, прямой записью в базу), а id меньше наибольшего прочитанного — быть выданы ещё
+ * не завершённой транзакции. Поэтому фильтр отказывает только для id не больше наибольшего, прочитанного
+ * перестройкой, которая закончилась хотя бы за {@code safetyMargin} до начала текущей: такие id к началу
+ * текущей перестройки уже записаны, если транзакции короче этого запаса. Остальные id проверяются в базе.
+ * Id, добавленные во время перестройки, переносятся в новый фильтр.
+ */
+final class IdFilter {
+    private final double falsePositiveRate;
+    private final long safetyMargin;
+    private final LongSupplier clock;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Object writeLock = new Object();
+    private final Deque<Mark> marks = new ArrayDeque<>();
+    private volatile Snapshot snapshot;
+    private List<Long> recorded;
+
+    /**
+     * @param safetyMargin в наносекундах по {@code clock}
+     */
+    IdFilter(double falsePositiveRate, long safetyMargin, LongSupplier clock) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.safetyMargin = safetyMargin;
+        this.clock = clock;
+        this.snapshot = new Snapshot(new BloomFilter(0, falsePositiveRate), 0);
+    }
+
+    boolean isAbsent(long id) {
+        Snapshot current = snapshot;
+        return id <= current.watermark && !current.filter.mightContain(id);
+    }
+
+    void add(long id) {
+        synchronized (writeLock) {
+            snapshot.filter.put(id);
+            if (recorded != null) {
+                recorded.add(id);
+            }
+        }
+    }
+
+    /**
+     * @param ids передаёт все существующие id
+     */
+    void rebuild(long expected, Consumer<LongConsumer> ids) {
+        rebuildLock.lock();
+        try {
+            synchronized (writeLock) {
+                recorded = new ArrayList<>();
+            }
+            long startedAt = clock.getAsLong();
+            BloomFilter filter = new BloomFilter(expected, falsePositiveRate);
+            long[] highest = {0};
+            ids.accept(id -> {
+                filter.put(id);
+                highest[0] = Math.max(highest[0], id);
+            });
+            long watermark = safetyMargin == 0 ? highest[0] : settledWatermark(startedAt, highest[0]);
+            synchronized (writeLock) {
+                recorded.forEach(filter::put);
+                snapshot = new Snapshot(filter, watermark);
+            }
+        } finally {
+            synchronized (writeLock) {
+                recorded = null;
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    long watermark() {
+        return snapshot.watermark;
+    }
+
+    /**
+     * Наибольший id последней перестройки, закончившейся не позже чем за {@code safetyMargin} до
+     * {@code startedAt}; более старые отметки больше не понадобятся.
+     */
+    private long settledWatermark(long startedAt, long highest) {
+        marks.addLast(new Mark(clock.getAsLong(), highest));
+        Mark settled = null;
+        while (!marks.isEmpty() && startedAt - marks.peekFirst().finishedAt >= safetyMargin) {
+            settled = marks.pollFirst();
+        }
+        if (settled == null) {
+            return 0;
+        }
+        marks.addFirst(settled);
+        return settled.highest;
+    }
+
+    private static final class Mark {
+        private final long finishedAt;
+        private final long highest;
+
+        private Mark(long finishedAt, long highest) {
+            this.finishedAt = finishedAt;
+            this.highest = highest;
+        }
+    }
+
+    private static final class Snapshot {
+        private final BloomFilter filter;
+        private final long watermark;
+
+        private Snapshot(BloomFilter filter, long watermark) {
+            this.filter = filter;
+            this.watermark = watermark;
+        }
+    }
+}
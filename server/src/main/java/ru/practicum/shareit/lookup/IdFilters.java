@@ -0,0 +1,114 @@
+package ru.practicum.shareit.lookup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.invalidation.EntityType;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтры существующих id пользователей, вещей, бронирований и запросов: по несуществующему id сервисы
+ * отвечают 404 без запроса к базе. Фильтры строятся по таблицам при старте и перестраиваются раз в
+ * {@code shareit.id-filter.rebuild-interval}, так из них уходят удалённые id, а id, созданные после
+ * перестройки, проверяются в базе. Отказы фильтра считаются в {@code shareit.id-filter.rejected}.
+ */
+@Slf4j
+@Component
+public class IdFilters {
+    private static final Map<EntityType, String> TABLES = Map.of(
+            EntityType.USER, "users",
+            EntityType.ITEM, "items",
+            EntityType.BOOKING, "bookings",
+            EntityType.REQUEST, "item_requests");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration rebuildInterval;
+    private final Duration safetyMargin;
+    private final Map<EntityType, IdFilter> filters = new EnumMap<>(EntityType.class);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "id-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdFilters(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                     @Value("${shareit.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                     @Value("${shareit.id-filter.rebuild-interval:10m}") Duration rebuildInterval,
+                     @Value("${shareit.id-filter.safety-margin:1m}") Duration safetyMargin) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.rebuildInterval = rebuildInterval;
+        this.safetyMargin = safetyMargin;
+        TABLES.keySet().forEach(type -> filters.put(type,
+                new IdFilter(falsePositiveRate, safetyMargin.toNanos(), System::nanoTime)));
+    }
+
+    /**
+     * Первая перестройка ничего не отклоняет, пока не пройдёт {@code safety-margin}: вторая
+     * запускается сразу после него, не дожидаясь {@code rebuild-interval}.
+     */
+    @PostConstruct
+    public void start() {
+        rebuild();
+        if (!safetyMargin.isZero()) {
+            scheduler.schedule(this::scheduledRebuild, safetyMargin.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (!rebuildInterval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::scheduledRebuild, rebuildInterval.toMillis(),
+                    rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @return {@code true}, если сущности с таким id точно нет
+     */
+    public boolean isAbsent(EntityType type, long id) {
+        boolean absent = filters.get(type).isAbsent(id);
+        if (absent) {
+            meterRegistry.counter("shareit.id-filter.rejected", "type", type.name()).increment();
+        }
+        return absent;
+    }
+
+    public void add(EntityType type, long id) {
+        filters.get(type).add(id);
+    }
+
+    public void rebuild() {
+        filters.forEach((type, filter) -> {
+            String table = TABLES.get(type);
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            long rows = count == null ? 0 : count;
+            // запас на id, добавленные до следующей перестройки
+            filter.rebuild(rows + rows / 2,
+                    ids -> jdbcTemplate.query("SELECT id FROM " + table, resultSet -> {
+                        ids.accept(resultSet.getLong(1));
+                    }));
+            log.debug("Фильтр id {} перестроен: записей {}, наибольший id {}", table, count, filter.watermark());
+        });
+    }
+
+    private void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось перестроить фильтры id: {}", e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    Page<ItemRequest> findByOwnerId(Long userId, Pageable pageable);
+    List<ItemRequest> findByOwnerId(Long userId, Pageable pageable);
 
-    Page<ItemRequest> findByOwnerIdNot(Long userId, Pageable pageable);
+    List<ItemRequest> findByOwnerIdNot(Long userId, Pageable pageable);
 }
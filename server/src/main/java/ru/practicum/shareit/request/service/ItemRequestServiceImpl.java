@@ -1,15 +1,17 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.IncorrectCountException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.ItemRequestMapper;
@@ -33,20 +35,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRepository itemRepository;
     private final ItemRequestMapper mapper;
     private final ItemMapper itemMapper;
+    private final InvalidationBus invalidationBus;
+    private final IdFilters idFilters;
 
     @Override
     public ItemRequestDto add(long userId, RequestDto requestDto) {
         ItemRequest itemRequest = mapper.toItemRequest(requestDto);
         itemRequest.setOwner(userService.getUser(userId));
         itemRequest.setCreated(LocalDateTime.now());
-        return mapper.toItemRequestDto(repository.save(itemRequest));
+        ItemRequest saved = repository.save(itemRequest);
+        idFilters.add(EntityType.REQUEST, saved.getId());
+        invalidationBus.publish(EntityType.REQUEST, saved.getId());
+        return mapper.toItemRequestDto(saved);
     }
 
     @Override
     public ItemRequestDto getById(long userId, long requestId) {
         userService.getById(userId);
-        ItemRequestDto requestDto = mapper.toItemRequestDto(reply(requestId));
-        requestDto.setItems(itemRepository.findByRequestInOrderByIdAsc(List.of(reply(requestId)))
+        ItemRequest request = reply(requestId);
+        ItemRequestDto requestDto = mapper.toItemRequestDto(request);
+        requestDto.setItems(itemRepository.findByRequestInOrderByIdAsc(List.of(request))
                 .stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList()));
@@ -57,7 +65,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getAllByUser(long userId, int from, int size) {
         userService.getById(userId);
         int pageNumber = (int) Math.ceil((double) from / size);
-        Page<ItemRequest> requests = repository.findByOwnerId(userId, PageRequest.of(pageNumber, size, Sort.by("created")));
+        List<ItemRequest> requests = repository.findByOwnerId(userId, PageRequest.of(pageNumber, size, Sort.by("created")));
         return setItemsForRequests(requests);
     }
 
@@ -65,7 +73,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getAll(long userId, int from, int size) {
         userService.getById(userId);
         int pageNumber = (int) Math.ceil((double) from / size);
-        Page<ItemRequest> requests = repository.findByOwnerIdNot(userId, PageRequest.of(pageNumber, size, Sort.by("created").descending()));
+        List<ItemRequest> requests = repository.findByOwnerIdNot(userId, PageRequest.of(pageNumber, size, Sort.by("created").descending()));
         return setItemsForRequests(requests);
     }
 
@@ -74,16 +82,23 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         if (requestId < 0) {
             throw new IncorrectCountException("id не должно быть меньше 0.");
         }
+        if (idFilters.isAbsent(EntityType.REQUEST, requestId)) {
+            throw NotFoundException.withoutStackTrace(notFound(requestId));
+        }
         Optional<ItemRequest> optional = repository.findById(requestId);
-        return optional.orElseThrow(() -> new NotFoundException(String.format("Запроса с номером %d - не найдено. Возможно не был ещё создан этот запрос.", requestId)));
+        return optional.orElseThrow(() -> new NotFoundException(notFound(requestId)));
+    }
+
+    private static String notFound(long id) {
+        return String.format("Запроса с номером %d - не найдено. Возможно не был ещё создан этот запрос.", id);
     }
 
-    private List<ItemRequestDto> setItemsForRequests(Page<ItemRequest> requests) {
+    private List<ItemRequestDto> setItemsForRequests(List<ItemRequest> requests) {
         List<ItemRequestDto> requestsDto = requests.stream()
                 .map(mapper::toItemRequestDto)
                 .collect(Collectors.toList());
 
-        Map<Long, List<ItemDto>> itemsMap = itemRepository.findByRequestInOrderByIdAsc(requests.toList())
+        Map<Long, List<ItemDto>> itemsMap = itemRepository.findByRequestInOrderByIdAsc(requests)
                 .stream()
                 .filter(item -> item.getRequest() != null)
                 .collect(groupingBy(item -> item.getRequest().getId(), Collectors.mapping(itemMapper::toItemDto, Collectors.toList())));
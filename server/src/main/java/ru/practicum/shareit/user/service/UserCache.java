@@ -0,0 +1,73 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.User;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Пользователи по id: почти каждый запрос к серверу начинается с проверки, что пользователь существует.
+ * Запись живёт не дольше {@code shareit.user-cache.expire-after-write}, всего их не больше
+ * {@code shareit.user-cache.maximum-size}; изменение и удаление пользователя сбрасывают запись.
+ * Отсутствующие пользователи не кэшируются. Снаружи отдаются копии, чтобы изменение полученной
+ * сущности не попало в кэш. Метрики — {@code cache.gets}, {@code cache.evictions} с тегом {@code cache=users}.
+ * <p>
+ * Пользователь загружается вне {@code Cache.get(key, loader)}: тот держит блокировку корзины хеш-таблицы, пока идёт
+ * запрос к базе, и закрепляет виртуальный поток за несущим. Чтобы запись, загруженная до изменения
+ * пользователя, не осталась в кэше после него, каждый сброс увеличивает счётчик, и загрузка, во время которой
+ * он изменился, убирает свою запись.
+ */
+@Component
+public class UserCache {
+    private final Cache<Long, User> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(@Value("${shareit.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.user-cache.expire-after-write:5m}") Duration expireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public User get(long id, Function<Long, User> loader) {
+        User user = cache.getIfPresent(id);
+        if (user == null) {
+            long seen = invalidations.get();
+            user = loader.apply(id);
+            cache.put(id, user);
+            if (invalidations.get() != seen) {
+                cache.asMap().remove(id, user);
+            }
+        }
+        return copy(user);
+    }
+
+    public void invalidate(long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .build();
+    }
+}
@@ -3,6 +3,9 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.User;
@@ -20,9 +23,18 @@ public class UserServiceImpl implements UserService {
 
     private final UserMapper mapper;
 
+    private final UserCache cache;
+
+    private final InvalidationBus invalidationBus;
+
+    private final IdFilters idFilters;
+
     @Override
     public UserDto add(UserDto user) {
-        return mapper.toUserDto(repository.save(mapper.toUser(user)));
+        User saved = repository.save(mapper.toUser(user));
+        idFilters.add(EntityType.USER, saved.getId());
+        invalidationBus.publish(EntityType.USER, saved.getId());
+        return mapper.toUserDto(saved);
     }
 
     @Override
@@ -31,6 +43,8 @@ public class UserServiceImpl implements UserService {
         updateName(user, userDto);
         updateEmail(user, userDto);
         repository.save(user);
+        cache.invalidate(id);
+        invalidationBus.publish(EntityType.USER, id);
         return mapper.toUserDto(user);
     }
 
@@ -51,12 +65,23 @@ public class UserServiceImpl implements UserService {
     public void delete(long id) {
         getUser(id);
         repository.deleteById(id);
+        cache.invalidate(id);
+        invalidationBus.publish(EntityType.USER, id);
     }
 
     @Override
     public User getUser(long id) {
-        Optional<User> optional = repository.findById(id);
-        return optional.orElseThrow(() -> new NotFoundException(String.format("Пользователь с id %d - не существует.", id)));
+        if (idFilters.isAbsent(EntityType.USER, id)) {
+            throw NotFoundException.withoutStackTrace(notFound(id));
+        }
+        return cache.get(id, key -> {
+            Optional<User> optional = repository.findById(key);
+            return optional.orElseThrow(() -> new NotFoundException(notFound(key)));
+        });
+    }
+
+    private static String notFound(long id) {
+        return String.format("Пользователь с id %d - не существует.", id);
     }
 
     private void updateName(User user, UserDto userDto) {
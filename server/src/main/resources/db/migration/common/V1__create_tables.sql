@@ -31,4 +31,4 @@ CREATE TABLE IF NOT EXISTS comments (
   item_id   bigint REFERENCES items (id) ON DELETE CASCADE,
   author_id    bigint REFERENCES users (id) ON DELETE CASCADE,
   created   timestamp NOT NULL
-);
\ No newline at end of file
+);
@@ -0,0 +1,2 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id bigint REFERENCES users (id) ON DELETE CASCADE;
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id) WHERE owner_id IS NULL;
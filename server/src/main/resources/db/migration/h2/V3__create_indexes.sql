@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS item_requests_owner_created_idx ON item_requests (owner_id, created_date DESC);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS bookings_owner_start_idx ON bookings (owner_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS bookings_item_booker_end_idx ON bookings (item_id, booker_id, end_date);
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created);
+CREATE INDEX IF NOT EXISTS comments_author_idx ON comments (author_id);
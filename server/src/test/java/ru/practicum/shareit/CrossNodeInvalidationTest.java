@@ -0,0 +1,94 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.invalidation.CacheInvalidator;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.LoopbackInvalidationBus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Второй экземпляр сервера изображает отдельная шина: он пишет в базу напрямую и рассылает изменение,
+ * после чего этот экземпляр не должен отдавать данные из своих кэшей.
+ */
+@SpringBootTest
+class CrossNodeInvalidationTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LoopbackInvalidationBus otherNode =
+            new LoopbackInvalidationBus(mock(CacheInvalidator.class), new SimpleMeterRegistry());
+
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        otherNode.start();
+        owner = userService.add(UserDto.builder().name("owner").email("owner@mail").build());
+        item = itemService.add(owner.getId(), ItemDto.builder().name("дрель").description("ударная")
+                .available(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        otherNode.close();
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void userChangedOnOtherNode() {
+        assertEquals("owner", userService.getById(owner.getId()).getName());
+        assertEquals("owner", itemService.getItem(item.getId()).getOwner().getName());
+
+        jdbcTemplate.update("UPDATE users SET name = ? WHERE id = ?", "Nik", owner.getId());
+        otherNode.publish(EntityType.USER, owner.getId());
+
+        assertEquals("Nik", userService.getById(owner.getId()).getName(), "Пользователь читается из кэша");
+        assertEquals("Nik", itemService.getItem(item.getId()).getOwner().getName(),
+                "Владелец вещи читается из кэша второго уровня");
+        assertTrue(meterRegistry.timer("shareit.invalidation.lag", "type", "USER").count() > 0,
+                "Задержка доставки не записана");
+    }
+
+    @Test
+    void itemChangedOnOtherNode() {
+        assertEquals("дрель", itemService.getItem(item.getId()).getName());
+
+        jdbcTemplate.update("UPDATE items SET name = ? WHERE id = ?", "перфоратор", item.getId());
+        otherNode.publish(EntityType.ITEM, item.getId());
+
+        assertEquals("перфоратор", itemService.getItem(item.getId()).getName(), "Вещь читается из кэша");
+        assertEquals(1, itemService.searchText(owner.getId(), "перфоратор", 0, 10).size(),
+                "Поисковый индекс не обновлён");
+        assertTrue(itemService.searchText(owner.getId(), "дрель", 0, 10).isEmpty(),
+                "Поиск находит старое название");
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.status.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class EndpointStatementsTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 5;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail").build());
+        request = requestRepository.save(ItemRequest.builder().owner(booker).description("нужна дрель")
+                .created(LocalDateTime.now()).build());
+        for (int i = 0; i < ITEMS; i++) {
+            item = itemRepository.save(Item.builder().owner(owner).request(request).name("дрель " + i)
+                    .description("описание").available(true).build());
+            booking = bookingRepository.save(Booking.builder().item(item).booker(booker).status(Status.APPROVED)
+                    .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1)).build());
+            bookingRepository.save(Booking.builder().item(item).booker(booker).status(Status.WAITING)
+                    .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build());
+            commentRepository.save(Comment.builder().item(item).author(booker).text("отлично")
+                    .created(LocalDateTime.now()).build());
+        }
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM item_requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void bookingEndpoints() throws Exception {
+        assertStatements(1, get("/bookings/{id}", booking.getId()).header(USER_HEADER, booker.getId()));
+        assertStatements(1, get("/bookings").header(USER_HEADER, booker.getId()));
+        assertStatements(1, get("/bookings/owner").header(USER_HEADER, owner.getId()));
+        assertStatements(1, get("/bookings/owner").param("cursor", "").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void itemEndpoints() throws Exception {
+        assertStatements(2, get("/items/{id}", item.getId()).header(USER_HEADER, owner.getId()));
+        assertStatements(3, get("/items").header(USER_HEADER, owner.getId()));
+        assertStatements(1, get("/items/search").param("text", "дрель").header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void requestEndpoints() throws Exception {
+        assertStatements(1, get("/requests/{id}", request.getId()).header(USER_HEADER, booker.getId()));
+        assertStatements(2, get("/requests").header(USER_HEADER, booker.getId()));
+        assertStatements(2, get("/requests/all").header(USER_HEADER, owner.getId()));
+    }
+
+    /**
+     * Считается повторный запрос, когда пользователь и сущности уже в кэше и число обращений к базе не зависит от порядка вызовов.
+     */
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        mvc.perform(request).andExpect(status().isOk());
+        statistics.clear();
+
+        mvc.perform(request).andExpect(status().isOk());
+
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                String.format("Количество запросов к базе для %s зависит от размера ответа",
+                        request.buildRequest(null).getRequestURI()));
+    }
+}
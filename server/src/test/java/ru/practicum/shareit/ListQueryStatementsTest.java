@@ -0,0 +1,108 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.status.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListQueryStatementsTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = em.persist(User.builder().name("owner").email("owner@mail").build());
+        booker = em.persist(User.builder().name("booker").email("booker@mail").build());
+        for (int i = 0; i < 5; i++) {
+            Item item = em.persist(Item.builder().owner(owner).name("item " + i).description("text").available(true).build());
+            em.persist(Booking.builder().item(item).booker(booker).status(Status.WAITING)
+                    .start(LocalDateTime.now().minusDays(i + 2)).end(LocalDateTime.now().minusDays(1)).build());
+            em.persist(Booking.builder().item(item).booker(booker).status(Status.WAITING)
+                    .start(LocalDateTime.now().minusDays(i + 1)).end(LocalDateTime.now().plusDays(1)).build());
+            em.persist(ItemRequest.builder().owner(owner).description("request " + i).created(LocalDateTime.now()).build());
+        }
+        em.flush();
+    }
+
+    @Test
+    void bookerListsIssueSingleStatement() {
+        PageRequest page = PageRequest.of(1, 2, Sort.by("start").descending());
+        LocalDateTime now = LocalDateTime.now();
+
+        assertSingleStatement(() -> bookingRepository.findByBookerId(booker.getId(), page));
+        assertSingleStatement(() -> bookingRepository.findByBookerIdAndStatusIn(booker.getId(), Set.of(Status.WAITING), page));
+        assertSingleStatement(() -> bookingRepository.findByBookerIdAndStatusIs(booker.getId(), Status.WAITING, page));
+        assertSingleStatement(() -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(booker.getId(), now, now, page));
+        assertSingleStatement(() -> bookingRepository.findByBookerIdAndEndBefore(booker.getId(), now, page));
+    }
+
+    @Test
+    void ownerListsIssueSingleStatement() {
+        PageRequest page = PageRequest.of(1, 2, Sort.by("start").descending());
+        LocalDateTime now = LocalDateTime.now();
+
+        assertSingleStatement(() -> bookingRepository.findByOwnerId(owner.getId(), page));
+        assertSingleStatement(() -> bookingRepository.findByOwnerIdAndStatusIn(owner.getId(), Set.of(Status.WAITING), page));
+        assertSingleStatement(() -> bookingRepository.findByOwnerIdAndStatus(owner.getId(), Status.WAITING, page));
+        assertSingleStatement(() -> bookingRepository.findByOwnerIdCurrent(owner.getId(), now, page));
+        assertSingleStatement(() -> bookingRepository.findByOwnerIdPast(owner.getId(), now, page));
+    }
+
+    @Test
+    void itemAndRequestListsIssueSingleStatement() {
+        PageRequest page = PageRequest.of(1, 2);
+
+        assertSingleStatement(() -> itemRepository.findByOwnerId(owner.getId(), page));
+        assertSingleStatement(() -> itemRepository.search("item", page));
+        assertSingleStatement(() -> requestRepository.findByOwnerId(owner.getId(), page));
+        assertSingleStatement(() -> requestRepository.findByOwnerIdNot(booker.getId(), page));
+    }
+
+    private void assertSingleStatement(Supplier<List<?>> listQuery) {
+        statistics.clear();
+
+        List<?> result = listQuery.get();
+
+        assertEquals(2, result.size(), "Страница содержит не все записи");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Для списка выполняется больше одного запроса");
+    }
+}
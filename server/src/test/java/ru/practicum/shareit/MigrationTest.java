@@ -0,0 +1,39 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class MigrationTest {
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allMigrationsApplied() {
+        assertEquals(0, flyway.info().pending().length, "Остались непримененные миграции");
+        assertEquals("3", flyway.info().current().getVersion().getVersion(), "Схема не на последней версии");
+    }
+
+    @Test
+    void indexesCreated() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT LOWER(index_name) FROM information_schema.indexes",
+                String.class);
+
+        for (String index : List.of("item_requests_owner_created_idx", "items_owner_idx", "items_request_idx",
+                "bookings_owner_start_idx", "bookings_booker_start_idx", "bookings_item_start_idx",
+                "bookings_item_booker_end_idx", "comments_item_created_idx", "comments_author_idx")) {
+            assertTrue(indexes.contains(index), "Не создан индекс " + index);
+        }
+    }
+}
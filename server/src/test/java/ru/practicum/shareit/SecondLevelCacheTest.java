@@ -0,0 +1,118 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    private Statistics statistics;
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.add(UserDto.builder().name("owner").email("owner@mail").build());
+        item = itemService.add(owner.getId(), ItemDto.builder().name("дрель").description("ударная")
+                .available(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM item_requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void cachedItemIsReadWithoutStatements() {
+        itemService.getItem(item.getId());
+        statistics.clear();
+
+        assertEquals("owner", itemService.getItem(item.getId()).getOwner().getName(), "Не загружен владелец вещи");
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "Вещь из кэша читается из базы");
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2, "Вещь и владелец взяты не из кэша");
+    }
+
+    @Test
+    void itemUpdateIsVisibleAfterCaching() {
+        itemService.getItem(item.getId());
+
+        itemService.update(owner.getId(), item.getId(), ItemDto.builder().name("перфоратор").available(false).build());
+
+        assertEquals("перфоратор", itemService.getItem(item.getId()).getName(), "Из кэша читается старое название");
+        assertFalse(itemService.getItem(item.getId()).isAvailable(), "Из кэша читается старая доступность");
+    }
+
+    @Test
+    void ownerUpdateIsVisibleThroughCachedItem() {
+        itemService.getItem(item.getId());
+
+        userService.update(owner.getId(), UserDto.builder().name("Nik").build());
+
+        assertEquals("Nik", itemService.getItem(item.getId()).getOwner().getName(),
+                "Владелец вещи читается из кэша со старым именем");
+        assertEquals("Nik", userService.getById(owner.getId()).getName(), "Пользователь читается со старым именем");
+    }
+
+    @Test
+    void deletedUserIsNotFound() {
+        UserDto user = userService.add(UserDto.builder().name("booker").email("booker@mail").build());
+        userService.getById(user.getId());
+
+        userService.delete(user.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.getUser(user.getId()),
+                "Удалённый пользователь читается из кэша");
+    }
+
+    @Test
+    void cachedRequestIsReadWithoutStatements() {
+        ItemRequestDto request = requestService.add(owner.getId(), RequestDto.builder().description("нужна дрель").build());
+        requestService.reply(request.getId());
+        statistics.clear();
+
+        assertEquals("нужна дрель", requestService.reply(request.getId()).getDescription(), "Запрос искажён в кэше");
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "Запрос из кэша читается из базы");
+    }
+}
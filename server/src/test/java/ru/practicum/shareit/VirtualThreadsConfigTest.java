@@ -0,0 +1,35 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void createsVirtualThreadsOnJava21() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Виртуальные потоки есть начиная с Java 21");
+
+        ExecutorService executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+
+        assertNotNull(executor, "Исполнитель виртуальных потоков не создан");
+        try {
+            Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+                    .get();
+            assertEquals(Boolean.TRUE, virtual, "Задача выполняется не в виртуальном потоке");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void keepsTomcatPoolBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21, "Проверка для JVM без виртуальных потоков");
+
+        assertNull(VirtualThreadsConfig.newVirtualThreadPerTaskExecutor(),
+                "Без виртуальных потоков должен остаться пул Tomcat");
+    }
+}
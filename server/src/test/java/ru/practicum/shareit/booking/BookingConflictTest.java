@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingConflictTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+    private UserDto owner;
+    private final List<UserDto> bookers = new ArrayList<>();
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.add(UserDto.builder().name("owner").email("owner@mail").build());
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userService.add(UserDto.builder().name("booker " + i).email("booker" + i + "@mail").build()));
+        }
+        item = itemService.add(owner.getId(), ItemDto.builder().name("дрель").description("ударная")
+                .available(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void concurrentOverlappingBookingsAdmitOne() throws Exception {
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<BookingDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                long bookerId = bookers.get(i).getId();
+                LocalDateTime shifted = start.plusHours(i);
+                Callable<BookingDto> create = () -> {
+                    ready.await();
+                    return bookingService.create(bookerId, booking(shifted, shifted.plusDays(1)));
+                };
+                results.add(executor.submit(create));
+            }
+            ready.countDown();
+
+            int created = 0;
+            for (Future<BookingDto> result : results) {
+                try {
+                    result.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ValidationException.class, e.getCause());
+                }
+            }
+            assertEquals(1, created, "Создано несколько пересекающихся бронирований");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE item_id = ?",
+                Integer.class, item.getId()));
+    }
+
+    @Test
+    void adjacentBookingsAreAllowed() {
+        bookingService.create(bookers.get(0).getId(), booking(start, start.plusDays(1)));
+
+        BookingDto next = bookingService.create(bookers.get(1).getId(), booking(start.plusDays(1), start.plusDays(2)));
+
+        assertNotNull(next.getId());
+    }
+
+    @Test
+    void rejectedBookingFreesTime() {
+        BookingDto first = bookingService.create(bookers.get(0).getId(), booking(start, start.plusDays(1)));
+        assertThrows(ValidationException.class,
+                () -> bookingService.create(bookers.get(1).getId(), booking(start, start.plusDays(1))));
+
+        bookingService.update(owner.getId(), first.getId(), false);
+
+        assertNotNull(bookingService.create(bookers.get(1).getId(), booking(start, start.plusDays(1))).getId());
+    }
+
+    private BookingDto booking(LocalDateTime from, LocalDateTime to) {
+        return BookingDto.builder().itemId(item.getId()).start(from).end(to).build();
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -127,4 +129,44 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookingByOwnerWithCursor() throws Exception {
+        bookingDto.setStart(LocalDateTime.of(2030, 1, 1, 10, 0));
+        bookingDto.setEnd(null);
+        when(service.getAllByOwner(anyLong(), anyString(), eq(BookingCursor.FIRST), eq(1)))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), PageRequest.of(0, 1), true));
+
+        mvc.perform(get("/bookings/owner?cursor=&size=1")
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class))
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        BookingCursor.after(bookingDto).encode()));
+    }
+
+    @Test
+    void getAllBookingByUserWithLastCursor() throws Exception {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 5L);
+        when(service.getAllByUser(anyLong(), anyString(), eq(cursor), eq(10)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        mvc.perform(get("/bookings?cursor=" + cursor.encode())
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllBookingByUserWithBrokenCursor() throws Exception {
+        mvc.perform(get("/bookings?cursor=broken")
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
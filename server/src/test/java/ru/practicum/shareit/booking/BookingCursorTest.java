@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+
+    @Test
+    void encodeAndDecode() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2023, 5, 1, 12, 30, 15, 123000000), 42L);
+
+        assertEquals(cursor, BookingCursor.decode(cursor.encode()), "Курсор не восстанавливается");
+    }
+
+    @Test
+    void decodeEmptyIsFirstPage() {
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(""), "Пустой курсор не означает первую страницу");
+    }
+
+    @Test
+    void decodeBroken() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("broken"));
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("bm90LWEtY3Vyc29y"));
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.ItemsBookingDto;
 import ru.practicum.shareit.booking.status.Status;
 import ru.practicum.shareit.item.Item;
@@ -21,7 +22,7 @@ class BookingMapperTest {
                 .start(LocalDateTime.now())
                 .end(LocalDateTime.now())
                 .status(Status.WAITING)
-                .item(Item.builder().available(true).description("desc").name("name").build())
+                .item(Item.builder().id(1L).available(true).description("desc").name("name").build())
                 .booker(User.builder().id(1L).name("name").email("user@mail").build())
                 .build();
         BookingDto bookingDto = mapper.toBookingDto(booking);
@@ -34,6 +35,34 @@ class BookingMapperTest {
         assertEquals(booking.getItem(), bookingDto.getItem(), "item не сохроняется в dto");
     }
 
+    @Test
+    void toBookingDtoFromView() {
+        BookingView view = BookingView.builder()
+                .id(1L)
+                .start(LocalDateTime.now())
+                .end(LocalDateTime.now())
+                .status(Status.WAITING)
+                .bookerId(2L).bookerName("booker").bookerEmail("booker@mail")
+                .itemId(3L).itemName("name").itemDescription("desc").itemAvailable(true)
+                .ownerId(4L).ownerName("owner").ownerEmail("owner@mail")
+                .build();
+        BookingDto bookingDto = mapper.toBookingDto(view);
+
+        assertEquals(view.getId(), bookingDto.getId(), "id не сохроняется в dto");
+        assertEquals(view.getStatus(), bookingDto.getStatus(), "status не сохроняется в dto");
+        assertEquals("booker@mail", bookingDto.getBooker().getEmail(), "booker не сохроняется в dto");
+        assertEquals("desc", bookingDto.getItem().getDescription(), "item не сохроняется в dto");
+        assertEquals("owner", bookingDto.getItem().getOwner().getName(), "владелец вещи не сохроняется в dto");
+    }
+
+    @Test
+    void toBookingDtoFromViewWithoutBooker() {
+        BookingDto bookingDto = mapper.toBookingDto(BookingView.builder().id(1L).build());
+
+        assertNull(bookingDto.getBooker(), "booker должен быть null");
+        assertNull(bookingDto.getItem(), "item должен быть null");
+    }
+
     @Test
     void toItemsBookingDto() {
         Booking booking = Booking.builder()
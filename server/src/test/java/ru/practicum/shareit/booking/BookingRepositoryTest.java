@@ -5,19 +5,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.booking.status.State;
+import ru.practicum.shareit.booking.status.StateFilter;
 import ru.practicum.shareit.booking.status.Status;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
 import static java.util.stream.Collectors.toList;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 class BookingRepositoryTest {
@@ -29,6 +34,9 @@ class BookingRepositoryTest {
 
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
     private User user;
     private Item item;
 
@@ -52,12 +60,12 @@ class BookingRepositoryTest {
         booking = repository.save(booking);
         repository.save(booking1);
 
-        List<Booking> bookings = repository.findByOwnerIdAndStatusIn(user.getId(), Set.of(Status.WAITING, Status.APPROVED),
+        List<BookingView> bookings = repository.findByOwnerIdAndStatusIn(user.getId(), Set.of(Status.WAITING, Status.APPROVED),
                 PageRequest.of(0, 2)).stream().collect(toList());
 
         assertNotNull(bookings, "Не возвращает список");
         assertEquals(1, bookings.size(), "Не возвращает список с 1");
-        assertEquals(booking, bookings.get(0), "Не возвращает список с 1");
+        assertEquals(booking.getId(), bookings.get(0).getId(), "Не возвращает список с 1");
     }
 
     @Test
@@ -70,12 +78,12 @@ class BookingRepositoryTest {
         repository.save(booking);
         booking1 = repository.save(booking1);
 
-        List<Booking> bookings = repository.findByOwnerIdAndStatus(user.getId(), Status.REJECTED,
+        List<BookingView> bookings = repository.findByOwnerIdAndStatus(user.getId(), Status.REJECTED,
                 PageRequest.of(0, 2)).stream().collect(toList());
 
         assertNotNull(bookings, "Не возвращает список");
         assertEquals(1, bookings.size(), "Не возвращает список с 1");
-        assertEquals(booking1, bookings.get(0), "Не возвращает список с 1");
+        assertEquals(booking1.getId(), bookings.get(0).getId(), "Не возвращает список с 1");
     }
 
     @Test
@@ -88,13 +96,13 @@ class BookingRepositoryTest {
         booking = repository.save(booking);
         booking1 = repository.save(booking1);
 
-        List<Booking> bookings = repository.findByOwnerId(user.getId(), PageRequest.of(0, 2))
+        List<BookingView> bookings = repository.findByOwnerId(user.getId(), PageRequest.of(0, 2))
                 .stream().collect(toList());
 
         assertNotNull(bookings, "Не возвращает список");
         assertEquals(2, bookings.size(), "Не возвращает список с 2");
-        assertEquals(booking, bookings.get(0), "Не возвращает список с 1");
-        assertEquals(booking1, bookings.get(1), "Не возвращает список с 2");
+        assertEquals(booking.getId(), bookings.get(0).getId(), "Не возвращает список с 1");
+        assertEquals(booking1.getId(), bookings.get(1).getId(), "Не возвращает список с 2");
     }
 
     @Test
@@ -107,12 +115,12 @@ class BookingRepositoryTest {
         repository.save(booking);
         booking1 = repository.save(booking1);
 
-        List<Booking> bookings = repository.findByOwnerIdCurrent(user.getId(), LocalDateTime.now(),
+        List<BookingView> bookings = repository.findByOwnerIdCurrent(user.getId(), LocalDateTime.now(),
                 PageRequest.of(0, 2)).stream().collect(toList());
 
         assertNotNull(bookings, "Не возвращает список");
         assertEquals(1, bookings.size(), "Не возвращает список с 1");
-        assertEquals(booking1, bookings.get(0), "Не возвращает список с 1");
+        assertEquals(booking1.getId(), bookings.get(0).getId(), "Не возвращает список с 1");
     }
 
     @Test
@@ -125,11 +133,110 @@ class BookingRepositoryTest {
         repository.save(booking);
         booking1 = repository.save(booking1);
 
-        List<Booking> bookings = repository.findByOwnerIdPast(user.getId(), LocalDateTime.now(),
+        List<BookingView> bookings = repository.findByOwnerIdPast(user.getId(), LocalDateTime.now(),
                 PageRequest.of(0, 2)).stream().collect(toList());
 
         assertNotNull(bookings, "Не возвращает список");
         assertEquals(1, bookings.size(), "Не возвращает список с 1");
-        assertEquals(booking1, bookings.get(0), "Не возвращает список с 1");
+        assertEquals(booking1.getId(), bookings.get(0).getId(), "Не возвращает список с 1");
+    }
+
+    @Test
+    void findByOwnerIdAfterCursor() {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        Booking first = repository.save(Booking.builder().status(Status.WAITING).item(item)
+                .start(start).end(start.plusDays(1)).build());
+        Booking second = repository.save(Booking.builder().status(Status.WAITING).item(item)
+                .start(start).end(start.plusDays(1)).build());
+        Booking third = repository.save(Booking.builder().status(Status.REJECTED).item(item)
+                .start(start.minusDays(1)).end(start).build());
+        StateFilter filter = StateFilter.of(State.ALL, LocalDateTime.now());
+
+        Slice<BookingView> page = repository.findByOwnerIdAfterCursor(user.getId(), filter.getStatuses(),
+                filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+                BookingCursor.FIRST.getStart(), BookingCursor.FIRST.getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(second.getId(), first.getId()), ids(page), "Не сортирует по start и id");
+        assertTrue(page.hasNext(), "Не определяет наличие следующей страницы");
+
+        page = repository.findByOwnerIdAfterCursor(user.getId(), filter.getStatuses(),
+                filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+                first.getStart(), first.getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(third.getId()), ids(page), "Не продолжает после курсора");
+        assertFalse(page.hasNext(), "Последняя страница не должна иметь продолжения");
+    }
+
+    @Test
+    void findByBookerIdAfterCursorWithState() {
+        User booker = userRepository.save(User.builder().name("booker").email("booker@mail").build());
+        Booking waiting = repository.save(Booking.builder().status(Status.WAITING).item(item).booker(booker)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build());
+        repository.save(Booking.builder().status(Status.REJECTED).item(item).booker(booker)
+                .start(LocalDateTime.now().plusDays(3)).end(LocalDateTime.now().plusDays(4)).build());
+        StateFilter filter = StateFilter.of(State.WAITING, LocalDateTime.now());
+
+        Slice<BookingView> page = repository.findByBookerIdAfterCursor(booker.getId(), filter.getStatuses(),
+                filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+                BookingCursor.FIRST.getStart(), BookingCursor.FIRST.getId(), PageRequest.of(0, 5));
+
+        assertEquals(List.of(waiting.getId()), ids(page), "Не фильтрует по статусу");
+    }
+
+    @Test
+    void findNearestByItemIdIn() {
+        Item other = itemRepository.save(Item.builder().owner(user).name("other").description("desc").build());
+        Item free = itemRepository.save(Item.builder().owner(user).name("free").description("desc").build());
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(Booking.builder().status(Status.APPROVED).item(item).booker(user)
+                .start(now.minusDays(3)).end(now.minusDays(2)).build());
+        Booking last = repository.save(Booking.builder().status(Status.REJECTED).item(item).booker(user)
+                .start(now.minusDays(1)).end(now.plusDays(1)).build());
+        repository.save(Booking.builder().status(Status.REJECTED).item(item).booker(user)
+                .start(now.plusDays(1)).end(now.plusDays(2)).build());
+        Booking next = repository.save(Booking.builder().status(Status.WAITING).item(item).booker(user)
+                .start(now.plusDays(2)).end(now.plusDays(3)).build());
+        repository.save(Booking.builder().status(Status.APPROVED).item(item).booker(user)
+                .start(now.plusDays(4)).end(now.plusDays(5)).build());
+        Booking otherNext = repository.save(Booking.builder().status(Status.APPROVED).item(other).booker(user)
+                .start(now.plusDays(1)).end(now.plusDays(2)).build());
+
+        List<NearestBooking> bookings = repository.findNearestByItemIdIn(List.of(item.getId(), other.getId(), free.getId()), now);
+
+        assertEquals(3, bookings.size(), "Возвращает не по одному бронированию каждого вида");
+        assertNearest(bookings, NearestBooking.LAST, item.getId(), last);
+        assertNearest(bookings, NearestBooking.NEXT, item.getId(), next);
+        assertNearest(bookings, NearestBooking.NEXT, other.getId(), otherNext);
+    }
+
+    @Test
+    void saveFillsOwnerId() {
+        Booking booking = repository.save(Booking.builder().status(Status.WAITING).item(item)
+                .start(LocalDateTime.now()).end(LocalDateTime.now()).build());
+
+        assertEquals(user.getId(), booking.getOwnerId(), "Не заполняет владельца вещи");
+    }
+
+    @Test
+    void ownerQueryUsesOwnerIndex() {
+        String plan = (String) entityManager.createNativeQuery("EXPLAIN SELECT * FROM bookings " +
+                "WHERE owner_id = 1 ORDER BY start_date DESC LIMIT 10").getSingleResult();
+
+        assertFalse(plan.contains("tableScan"), "Запрос владельца читает всю таблицу");
+        assertTrue(plan.contains(": OWNER_ID = "), "Запрос владельца не использует индекс по owner_id");
+    }
+
+    private List<Long> ids(Slice<BookingView> page) {
+        return page.stream().map(BookingView::getId).collect(toList());
+    }
+
+    private void assertNearest(List<NearestBooking> bookings, String kind, Long itemId, Booking expected) {
+        NearestBooking booking = bookings.stream()
+                .filter(b -> b.getKind().equals(kind) && b.getItemId().equals(itemId))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(String.format("Нет бронирования %s для вещи %d", kind, itemId)));
+
+        assertEquals(expected.getId(), booking.getId(), "Выбрано не то бронирование " + kind);
+        assertEquals(expected.getBooker().getId(), booking.getBookerId(), "Не совпадает автор бронирования");
     }
-}
\ No newline at end of file
+}
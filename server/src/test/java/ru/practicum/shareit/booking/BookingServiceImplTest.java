@@ -1,27 +1,38 @@
 package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.booking.status.Status;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class BookingServiceImplTest {
@@ -33,7 +44,13 @@ class BookingServiceImplTest {
 
     private final BookingRepository repository = mock(BookingRepository.class);
 
-    private BookingService service = new BookingServiceImpl(mapper, itemService, userService, repository);
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+
+    private final IdFilters idFilters = mock(IdFilters.class);
+
+    private final BookingCalendar calendar = mock(BookingCalendar.class);
+
+    private BookingService service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
 
     private final BookingDto bookingDto = BookingDto.builder().end(LocalDateTime.now()).start(LocalDateTime.now()).itemId(1L).build();
 
@@ -273,7 +290,7 @@ class BookingServiceImplTest {
     @Test
     void getByIdWhenOwnerItemWithMapper() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         Booking booking = Booking.builder()
                 .id(1L)
                 .status(Status.WAITING)
@@ -281,6 +298,7 @@ class BookingServiceImplTest {
                 .start(LocalDateTime.now().plusHours(1))
                 .end(LocalDateTime.now().plusDays(1))
                 .item(Item.builder()
+                        .id(1L)
                         .owner(User.builder().id(1L).name("name").email("user@mail").build())
                         .available(true)
                         .name("name")
@@ -298,18 +316,19 @@ class BookingServiceImplTest {
         assertEquals(booking.getItem(), bookingDto.getItem(), "Не возвращает нужный item");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getByIdWhenBookerWithMapper() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         Booking booking = Booking.builder()
                 .booker(User.builder().id(2L).name("name").email("user@mail").build())
                 .start(LocalDateTime.now().plusHours(1))
                 .end(LocalDateTime.now().plusDays(1))
                 .item(Item.builder()
+                        .id(1L)
                         .owner(User.builder().id(1L).name("name").email("user@mail").build())
                         .available(true)
                         .name("name")
@@ -327,18 +346,19 @@ class BookingServiceImplTest {
         assertEquals(booking.getItem(), bookingDto.getItem(), "Не возвращает нужный item");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void updateWhenApprovedTrueWithMapper() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         Booking booking = Booking.builder()
                 .status(Status.WAITING)
                 .start(LocalDateTime.now().plusHours(1))
                 .end(LocalDateTime.now().plusDays(1))
                 .item(Item.builder()
+                        .id(1L)
                         .owner(User.builder().id(1L).name("name").email("user@mail").build())
                         .available(true)
                         .name("name")
@@ -355,20 +375,22 @@ class BookingServiceImplTest {
         assertEquals(booking.getEnd(), bookingDto.getEnd(), "Не возвращает нужный end");
         assertEquals(booking.getItem(), bookingDto.getItem(), "Не возвращает нужный item");
         assertEquals(Status.APPROVED, bookingDto.getStatus(), "Не возвращает нужный status");
+        verify(invalidationBus).publish(EntityType.BOOKING, 1L);
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void updateWhenApprovedFalseWithMapper() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         Booking booking = Booking.builder()
                 .status(Status.WAITING)
                 .start(LocalDateTime.now().plusHours(1))
                 .end(LocalDateTime.now().plusDays(1))
                 .item(Item.builder()
+                        .id(1L)
                         .owner(User.builder().id(1L).name("name").email("user@mail").build())
                         .available(true)
                         .name("name")
@@ -385,18 +407,19 @@ class BookingServiceImplTest {
         assertEquals(booking.getEnd(), bookingDto.getEnd(), "Не возвращает нужный end");
         assertEquals(booking.getItem(), bookingDto.getItem(), "Не возвращает нужный item");
         assertEquals(Status.REJECTED, bookingDto.getStatus(), "Не возвращает нужный status");
+        verify(calendar).release(booking);
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByOwnerStateAll() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByOwnerId(anyLong(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByOwner(1, "ALL", 0, 1);
 
@@ -404,17 +427,17 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
 
     @Test
     void getAllByOwnerStateFUTURE() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByOwnerIdAndStatusIn(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByOwner(1, "FUTURE", 0, 1);
 
@@ -422,16 +445,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByOwnerStateREJECTED() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByOwnerIdAndStatus(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByOwner(1, "REJECTED", 0, 1);
 
@@ -439,16 +462,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByOwnerStateWAITING() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByOwnerIdAndStatus(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByOwner(1, "WAITING", 0, 1);
 
@@ -456,16 +479,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByOwnerStateCURRENT() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByOwnerIdCurrent(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByOwner(1, "CURRENT", 0, 1);
 
@@ -473,16 +496,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByOwnerStatePAST() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByOwnerIdPast(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByOwner(1, "PAST", 0, 1);
 
@@ -490,16 +513,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByUserStateAll() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByBookerId(anyLong(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByUser(1, "ALL", 0, 1);
 
@@ -507,17 +530,17 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
 
     @Test
     void getAllByUserStateFUTURE() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByBookerIdAndStatusIn(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByUser(1, "FUTURE", 0, 1);
 
@@ -525,16 +548,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByUserStateREJECTED() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByBookerIdAndStatusIs(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByUser(1, "REJECTED", 0, 1);
 
@@ -542,16 +565,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByUserStateWAITING() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByBookerIdAndStatusIs(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByUser(1, "WAITING", 0, 1);
 
@@ -559,16 +582,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByUserStateCURRENT() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByBookerIdAndStartBeforeAndEndAfter(anyLong(), any(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByUser(1, "CURRENT", 0, 1);
 
@@ -576,16 +599,16 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
     @Test
     void getAllByUserStatePAST() {
         mapper = new BookingMapper();
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
         when(userService.getById(anyLong())).thenReturn(UserDto.builder().build());
         when(repository.findByBookerIdAndEndBefore(anyLong(), any(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<BookingDto> bookingDtos = service.getAllByUser(1, "PAST", 0, 1);
 
@@ -593,7 +616,39 @@ class BookingServiceImplTest {
         assertEquals(0, bookingDtos.size(), "Не возвращается список");
 
         mapper = mock(BookingMapper.class);
-        service = new BookingServiceImpl(mapper, itemService, userService, repository);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
+    }
+
+
+    @Test
+    void getAllByOwnerAfterCursor() {
+        mapper = new BookingMapper();
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 5L);
+        BookingView booking = BookingView.builder().id(4L).start(cursor.getStart()).build();
+        when(repository.findByOwnerIdAfterCursor(eq(1L), eq(Set.of(Status.WAITING)), any(), any(), any(),
+                eq(cursor.getStart()), eq(5L), eq(PageRequest.of(0, 1))))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, 1), true));
+
+        Slice<BookingDto> bookingDtos = service.getAllByOwner(1, "WAITING", cursor, 1);
+
+        assertEquals(1, bookingDtos.getContent().size(), "Не возвращается страница");
+        assertEquals(4L, bookingDtos.getContent().get(0).getId(), "Не возвращается бронирование");
+        assertTrue(bookingDtos.hasNext(), "Не передаётся наличие следующей страницы");
+
+        mapper = mock(BookingMapper.class);
+        service = new BookingServiceImpl(mapper, itemService, userService, repository, invalidationBus, idFilters, calendar);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllByUserAfterCursorPast() {
+        when(repository.findByBookerIdAfterCursor(anyLong(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        Slice<BookingDto> bookingDtos = service.getAllByUser(1, "PAST", BookingCursor.FIRST, 1);
+
+        assertFalse(bookingDtos.hasNext(), "Есть следующая страница у пустого списка");
+        verify(repository).findByBookerIdAfterCursor(eq(1L), eq(EnumSet.allOf(Status.class)), any(), any(),
+                any(), eq(BookingCursor.FIRST.getStart()), eq(Long.MAX_VALUE), any());
+    }
+}
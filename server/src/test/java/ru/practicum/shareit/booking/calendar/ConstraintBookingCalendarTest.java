@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.calendar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConstraintBookingCalendarTest {
+    private final BookingRepository repository = mock(BookingRepository.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BookingCalendar calendar = new ConstraintBookingCalendar(repository, meterRegistry);
+
+    @Test
+    void exclusionViolationIsConflict() {
+        when(repository.save(any())).thenThrow(new DataIntegrityViolationException("insert",
+                new SQLException("conflicting key value violates exclusion constraint",
+                        ConstraintBookingCalendar.EXCLUSION_VIOLATION)));
+
+        assertThrows(ValidationException.class, () -> calendar.reserve(new Booking()));
+        assertEquals(1, meterRegistry.counter("shareit.booking.conflicts").count());
+    }
+
+    @Test
+    void otherViolationIsNotConflict() {
+        when(repository.save(any())).thenThrow(new DataIntegrityViolationException("insert",
+                new SQLException("null value in column", "23502")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> calendar.reserve(new Booking()));
+    }
+}
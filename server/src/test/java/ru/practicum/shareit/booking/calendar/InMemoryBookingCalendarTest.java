@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.calendar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class InMemoryBookingCalendarTest {
+    private final AtomicLong ids = new AtomicLong();
+    private final BookingRepository repository = mock(BookingRepository.class);
+    private final InMemoryBookingCalendar calendar = new InMemoryBookingCalendar(repository, new SimpleMeterRegistry(),
+            Duration.ZERO);
+    private final Item item = Item.builder().id(1L).build();
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(123_456_789);
+
+    InMemoryBookingCalendarTest() {
+        when(repository.findIntervalsByItemId(anyLong(), any(), any())).thenReturn(List.of());
+        when(repository.save(any())).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(ids.incrementAndGet());
+            return booking;
+        });
+    }
+
+    @Test
+    void releaseFindsBookingReadBackWithRoundedStart() {
+        Booking booking = calendar.reserve(booking(start, start.plusDays(1)));
+        Booking stored = Booking.builder().id(booking.getId()).item(item)
+                .start(start.truncatedTo(ChronoUnit.MICROS)).end(booking.getEnd()).build();
+
+        calendar.release(stored);
+
+        assertNotNull(calendar.reserve(booking(start, start.plusDays(1))).getId(),
+                "Отклонённое бронирование продолжает занимать время");
+    }
+
+    @Test
+    void overlappingBookingIsRejected() {
+        calendar.reserve(booking(start, start.plusDays(1)));
+
+        assertThrows(ValidationException.class, () -> calendar.reserve(booking(start.plusHours(1), start.plusDays(2))));
+    }
+
+    @Test
+    void emptyCalendarsAreDropped() {
+        Booking booking = calendar.reserve(booking(start, start.plusDays(1)));
+        calendar.reserve(booking(LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1)));
+        assertEquals(1, calendar.calendars());
+
+        calendar.release(booking);
+        assertEquals(1, calendar.calendars(), "Календарь с прошедшим бронированием убран до очистки");
+
+        calendar.prune();
+        assertEquals(0, calendar.calendars(), "Пустой календарь вещи остался в памяти");
+    }
+
+    @Test
+    void droppedCalendarIsReloaded() {
+        Booking booking = calendar.reserve(booking(start, start.plusDays(1)));
+        calendar.release(booking);
+        assertEquals(0, calendar.calendars());
+
+        calendar.reserve(booking(start, start.plusDays(1)));
+
+        verify(repository, times(2)).findIntervalsByItemId(eq(1L), any(), any());
+    }
+
+    private Booking booking(LocalDateTime from, LocalDateTime to) {
+        return Booking.builder().item(item).start(from).end(to).build();
+    }
+}
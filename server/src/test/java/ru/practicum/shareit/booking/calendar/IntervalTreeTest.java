@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final IntervalTree tree = new IntervalTree();
+
+    @Test
+    void overlapsOnlyIntersectingIntervals() {
+        tree.add(1, NOW, NOW.plusDays(2));
+
+        assertTrue(tree.overlaps(NOW.plusDays(1), NOW.plusDays(3)));
+        assertTrue(tree.overlaps(NOW.minusDays(1), NOW.plusDays(5)));
+        assertFalse(tree.overlaps(NOW.plusDays(2), NOW.plusDays(3)), "Бронирование встык считается пересечением");
+        assertFalse(tree.overlaps(NOW.minusDays(1), NOW), "Бронирование встык считается пересечением");
+    }
+
+    @Test
+    void removedIntervalIsFree() {
+        tree.add(1, NOW, NOW.plusDays(2));
+        tree.add(2, NOW, NOW.plusDays(1));
+
+        tree.remove(1);
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.overlaps(NOW.plusDays(1), NOW.plusDays(2)), "Удалённый интервал остался в дереве");
+        assertTrue(tree.overlaps(NOW, NOW.plusHours(1)));
+    }
+
+    @Test
+    void removesEndedIntervals() {
+        tree.add(1, NOW.minusDays(3), NOW.minusDays(2));
+        tree.add(2, NOW.minusDays(1), NOW);
+        tree.add(3, NOW.minusDays(1), NOW.plusDays(1));
+        tree.add(4, NOW.plusDays(1), NOW.plusDays(2));
+
+        tree.removeEnded(NOW);
+
+        assertEquals(2, tree.size());
+        assertFalse(tree.overlaps(NOW.minusDays(3), NOW.minusDays(1)), "Закончившийся интервал остался в дереве");
+        assertTrue(tree.overlaps(NOW, NOW.plusHours(1)));
+        assertTrue(tree.overlaps(NOW.plusDays(1), NOW.plusDays(2)));
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random random = new Random(42);
+        List<long[]> intervals = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            long start = random.nextInt(100_000);
+            long[] interval = {id, start, start + 1 + random.nextInt(500)};
+            intervals.add(interval);
+            tree.add(id, at(interval[1]), at(interval[2]));
+            if (random.nextInt(4) == 0) {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(removed[0]);
+            }
+        }
+        tree.removeEnded(at(20_000));
+        intervals.removeIf(interval -> interval[2] <= 20_000);
+
+        assertEquals(intervals.size(), tree.size());
+        for (int i = 0; i < 5_000; i++) {
+            long start = 20_000 + random.nextInt(81_000);
+            long end = start + 1 + random.nextInt(200);
+            boolean expected = intervals.stream().anyMatch(interval -> start < interval[2] && end > interval[1]);
+            assertEquals(expected, tree.overlaps(at(start), at(end)), "Неверный ответ для [" + start + ", " + end + ")");
+        }
+    }
+
+    private static LocalDateTime at(long minutes) {
+        return NOW.plusMinutes(minutes);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.invalidation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityChangeTest {
+
+    @Test
+    void payloadRoundTrip() {
+        EntityChange change = new EntityChange(EntityType.ITEM, 42, "node", 1_700_000_000_000L);
+
+        assertEquals(change, EntityChange.parse(change.toPayload()), "Изменение искажено при передаче");
+    }
+
+    @Test
+    void malformedPayload() {
+        assertThrows(IllegalArgumentException.class, () -> EntityChange.parse("ITEM:42"));
+        assertThrows(IllegalArgumentException.class, () -> EntityChange.parse("ORDER:42:node:1"));
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoopbackInvalidationBusTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(1_000), ZoneOffset.UTC);
+
+    private final CacheInvalidator first = mock(CacheInvalidator.class);
+    private final CacheInvalidator second = mock(CacheInvalidator.class);
+    private final LoopbackInvalidationBus firstBus = new LoopbackInvalidationBus(first, meterRegistry, clock);
+    private final LoopbackInvalidationBus secondBus = new LoopbackInvalidationBus(second, meterRegistry, clock);
+
+    @AfterEach
+    void tearDown() {
+        firstBus.close();
+        secondBus.close();
+    }
+
+    @Test
+    void changeIsDeliveredToOtherNodes() {
+        firstBus.start();
+        secondBus.start();
+
+        firstBus.publish(EntityType.USER, 7);
+
+        ArgumentCaptor<EntityChange> change = ArgumentCaptor.forClass(EntityChange.class);
+        verify(second).evict(change.capture());
+        assertEquals(EntityType.USER, change.getValue().getType());
+        assertEquals(7, change.getValue().getId());
+        assertEquals(1_000, change.getValue().getPublishedAt());
+        verifyNoInteractions(first);
+        assertEquals(1, meterRegistry.counter("shareit.invalidation.published", "type", "USER").count());
+    }
+
+    @Test
+    void stoppedNodeReceivesNothing() {
+        firstBus.start();
+        secondBus.start();
+        secondBus.close();
+
+        firstBus.publish(EntityType.ITEM, 1);
+
+        verifyNoInteractions(second);
+    }
+}
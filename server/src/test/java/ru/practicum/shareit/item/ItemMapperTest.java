@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -28,6 +29,24 @@ class ItemMapperTest {
         assertNull(itemDto.getRequestId(), "requestId не присваивается null в dto");
     }
 
+    @Test
+    void toItemDtoFromView() {
+        ItemView item = ItemView.builder()
+                .id(1L)
+                .name("name")
+                .description("description")
+                .available(true)
+                .ownerId(2L).ownerName("owner").ownerEmail("owner@mail")
+                .requestId(3L)
+                .build();
+        ItemDto itemDto = mapper.toItemDto(item);
+
+        assertEquals(item.getName(), itemDto.getName(), "name не присваивается в dto");
+        assertEquals(2L, itemDto.getOwner().getId(), "owner не присваивается в dto");
+        assertEquals(3L, itemDto.getRequestId(), "requestId не присваивается в dto");
+        assertNotNull(itemDto.getComments(), "не создаёт новый список comments");
+    }
+
     @Test
     void toItemDtoWithRequestId() {
         Item item = Item.builder()
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.search.IndexedItem;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,10 +25,21 @@ class ItemRepositoryTest {
         Item item1 = repository.save(item);
         repository.save(item2);
 
-        List<Item> items = repository.search("text", PageRequest.of(0, 3))
+        List<ItemView> items = repository.search("text", PageRequest.of(0, 3))
                 .stream().collect(Collectors.toList());
 
         assertEquals(1, items.size(), "возвращает не 1 нужный запрос");
-        assertEquals(item1, items.get(0), "возвращает не нужный запрос");
+        assertEquals(item1.getId(), items.get(0).getId(), "возвращает не нужный запрос");
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllForIndex() {
+        Item item = repository.save(Item.builder().name("text").description("desc").available(true).build());
+
+        List<IndexedItem> items = repository.findAllForIndex();
+
+        assertEquals(1, items.size(), "возвращает не все вещи");
+        assertEquals(item.getId(), items.get(0).getId(), "возвращает не ту вещь");
+        assertEquals("text", items.get(0).getName(), "не возвращает название");
+    }
+}
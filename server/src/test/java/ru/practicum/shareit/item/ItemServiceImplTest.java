@@ -1,21 +1,26 @@
 package ru.practicum.shareit.item;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.ItemsBookingDto;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -26,8 +31,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class ItemServiceImplTest {
     private final UserService userService = mock(UserService.class);
@@ -46,15 +50,21 @@ class ItemServiceImplTest {
 
     private final CommentMapper commentMapper = new CommentMapper();
 
+    private final ItemSearchIndex searchIndex = mock(ItemSearchIndex.class);
+
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+
+    private final IdFilters idFilters = mock(IdFilters.class);
+
     private ItemService service =
             new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                    commentRepository, mapper, bookingMapper, commentMapper);
+                    commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
 
     @Test
     void updateNoOwner() {
         when(userService.getUser(anyLong()))
                 .thenReturn(User.builder().name("name").email("user@mail").build());
-        when(repository.findById(anyLong()))
+        when(repository.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(Item.builder()
                         .owner(User.builder().id(2L).name("name").email("user@mail").build())
                         .available(true)
@@ -143,7 +153,7 @@ class ItemServiceImplTest {
 
     @Test
     void getItemByIdUnknown() {
-        when(repository.findById(anyLong())).thenReturn(Optional.empty());
+        when(repository.findWithOwnerById(anyLong())).thenReturn(Optional.empty());
 
         Throwable thrown = assertThrows(NotFoundException.class, () -> {
             service.getItem(0);
@@ -156,9 +166,9 @@ class ItemServiceImplTest {
     void updateNameDescriptionAndAvailable() {
         mapper = new ItemMapper();
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
         when(userService.getUser(anyLong())).thenReturn(User.builder().id(1L).build());
-        when(repository.findById(anyLong())).thenReturn(Optional.of(Item.builder()
+        when(repository.findWithOwnerById(anyLong())).thenReturn(Optional.of(Item.builder()
                 .owner(User.builder().id(1L).build())
                 .name("name")
                 .description("Desc")
@@ -171,24 +181,25 @@ class ItemServiceImplTest {
         assertEquals(update.getAvailable(), itemDto.getAvailable(), "не сохроняет available");
         assertEquals(update.getDescription(), itemDto.getDescription(), "не сохроняет description");
         assertEquals(update.getName(), itemDto.getName(), "не сохроняет name");
+        verify(invalidationBus).publish(EntityType.ITEM, 1L);
 
         mapper = mock(ItemMapper.class);
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
     }
 
     @Test
     void updateName() {
         mapper = new ItemMapper();
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
         when(userService.getUser(anyLong())).thenReturn(User.builder().id(1L).build());
         Item itemRepository = Item.builder()
                 .owner(User.builder().id(1L).build())
                 .name("name")
                 .description("Desc")
                 .available(false).build();
-        when(repository.findById(anyLong())).thenReturn(Optional.of(itemRepository));
+        when(repository.findWithOwnerById(anyLong())).thenReturn(Optional.of(itemRepository));
         ItemDto update = ItemDto.builder().name("Pen").build();
 
         ItemDto itemDto = service.update(1, 1, update);
@@ -200,21 +211,21 @@ class ItemServiceImplTest {
 
         mapper = mock(ItemMapper.class);
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
     }
 
     @Test
     void updateDescription() {
         mapper = new ItemMapper();
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
         when(userService.getUser(anyLong())).thenReturn(User.builder().id(1L).build());
         Item itemRepository = Item.builder()
                 .owner(User.builder().id(1L).build())
                 .name("name")
                 .description("Desc")
                 .available(false).build();
-        when(repository.findById(anyLong())).thenReturn(Optional.of(itemRepository));
+        when(repository.findWithOwnerById(anyLong())).thenReturn(Optional.of(itemRepository));
         ItemDto update = ItemDto.builder().available(true).description("description").name("Pen").build();
 
         ItemDto itemDto = service.update(1, 1, update);
@@ -226,21 +237,21 @@ class ItemServiceImplTest {
 
         mapper = mock(ItemMapper.class);
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
     }
 
     @Test
     void updateAvailable() {
         mapper = new ItemMapper();
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
         when(userService.getUser(anyLong())).thenReturn(User.builder().id(1L).build());
         Item itemRepository = Item.builder()
                 .owner(User.builder().id(1L).build())
                 .name("name")
                 .description("Desc")
                 .available(false).build();
-        when(repository.findById(anyLong())).thenReturn(Optional.of(itemRepository));
+        when(repository.findWithOwnerById(anyLong())).thenReturn(Optional.of(itemRepository));
         ItemDto update = ItemDto.builder().available(true).description("description").name("Pen").build();
 
         ItemDto itemDto = service.update(1, 1, update);
@@ -252,7 +263,7 @@ class ItemServiceImplTest {
 
         mapper = mock(ItemMapper.class);
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
     }
 
     @Test
@@ -265,7 +276,7 @@ class ItemServiceImplTest {
         User user = User.builder().name("name").build();
         LocalDateTime time = LocalDateTime.now();
         when(userService.getUser(anyLong())).thenReturn(user);
-        when(repository.findById(anyLong())).thenReturn(Optional.of(Item.builder().build()));
+        when(repository.findWithOwnerById(anyLong())).thenReturn(Optional.of(Item.builder().build()));
         when(commentRepository.save(any())).thenReturn(Comment.builder().id(1L)
                 .created(time)
                 .author(user)
@@ -282,16 +293,41 @@ class ItemServiceImplTest {
 
     @Test
     void searchText() {
-        when(repository.search(anyString(), any())).thenReturn(Page.empty());
+        when(repository.search(anyString(), any())).thenReturn(List.of());
 
         List<ItemDto> itemDtos = service.searchText(1, "text", 0, 1);
 
         assertEquals(0, itemDtos.size(), "не вызывается поиск по тексту");
     }
 
+    @Test
+    void searchTextUsesIndex() {
+        ItemSearchIndex index = new ItemSearchIndex(repository);
+        service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
+                commentRepository, mapper, bookingMapper, commentMapper, index, invalidationBus, idFilters);
+        Item item = Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true).build();
+        index.index(item);
+        when(repository.findByIdIn(List.of(1L))).thenReturn(List.of(ItemView.builder().id(1L).build()));
+        when(mapper.toItemDto(any(ItemView.class))).thenReturn(ItemDto.builder().id(1L).build());
+
+        List<ItemDto> itemDtos = service.searchText(1, "дРЕл", 0, 10);
+
+        assertEquals(1, itemDtos.size(), "не находит вещь по индексу");
+        verify(repository, never()).search(anyString(), any());
+    }
+
+    @Test
+    void searchTextWithoutWordsFallsBackToQuery() {
+        when(repository.search(anyString(), any())).thenReturn(List.of());
+
+        service.searchText(1, "%%", 0, 10);
+
+        verify(repository).search(eq("%%"), any());
+    }
+
     @Test
     void getAllEmpty() {
-        when(repository.findByOwnerId(anyLong(), any())).thenReturn(Page.empty());
+        when(repository.findByOwnerId(anyLong(), any())).thenReturn(List.of());
 
         List<ItemDto> itemDtos = service.getAll(1, 0, 1);
 
@@ -300,14 +336,11 @@ class ItemServiceImplTest {
 
     @Test
     void getById() {
-        when(repository.findById(anyLong())).thenReturn(Optional.of(Item.builder()
+        when(repository.findWithOwnerById(anyLong())).thenReturn(Optional.of(Item.builder()
                 .owner(User.builder().id(1L).build()).build()));
-        when(mapper.toItemDto(any())).thenReturn(ItemDto.builder().id(1L)
+        when(mapper.toItemDto(any(Item.class))).thenReturn(ItemDto.builder().id(1L)
                 .owner(User.builder().id(1L).build()).build());
-        when(bookingRepository.findFirst1ByItemIdAndStartBeforeOrderByStartDesc(anyLong(), any()))
-                .thenReturn(Optional.empty());
-        when(bookingRepository.findFirst1ByItemIdAndStartAfterAndStatusNotLikeOrderByStartAsc(anyLong(), any(), any()))
-                .thenReturn(Optional.empty());
+        when(bookingRepository.findNearestByItemIdIn(any(), any())).thenReturn(List.of());
         when(commentRepository.findAllByItemId(anyLong())).thenReturn(List.of());
 
         ItemDto itemDtos = service.getById(1, 1);
@@ -321,35 +354,21 @@ class ItemServiceImplTest {
     void getAllWithManyBooking() {
         mapper = new ItemMapper();
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
-        Item item = Item.builder().id(1L).name("first").description("desc").build();
-        Item item1 = Item.builder().id(2L).name("second").description("desc1").build();
-        Item item2 = Item.builder().id(3L).name("free").description("desc2").build();
-        when(repository.findByOwnerId(anyLong(), any())).thenReturn(new PageImpl<>(List.of(item2, item, item1)));
-
-        Booking bookingLast = Booking.builder().id(1L).end(LocalDateTime.now().minusDays(2)).start(LocalDateTime.now().minusDays(3))
-                .item(item2).booker(User.builder().id(1L).build()).build();
-        Booking bookingLast1 = Booking.builder().id(2L).end(LocalDateTime.now().minusHours(1)).start(LocalDateTime.now().minusDays(1))
-                .item(item2).booker(User.builder().id(1L).build()).build();
-        Booking bookingLast2 = Booking.builder().id(3L).end(LocalDateTime.now().minusMonths(1)).start(LocalDateTime.now().minusDays(5))
-                .item(item2).booker(User.builder().id(1L).build()).build();
-        when(bookingRepository.findByItemInAndStartBeforeOrderByStartDesc(any(), any()))
-                .thenReturn(List.of(bookingLast1, bookingLast, bookingLast2));
-
-        Booking bookingNext = Booking.builder().id(1L).end(LocalDateTime.now().plusDays(2)).start(LocalDateTime.now().plusDays(3))
-                .item(item2).booker(User.builder().id(1L).build()).build();
-        Booking bookingNext1 = Booking.builder().id(3L).end(LocalDateTime.now().plusHours(1)).start(LocalDateTime.now().plusDays(1))
-                .item(item2).booker(User.builder().id(1L).build()).build();
-        Booking bookingNext2 = Booking.builder().id(2L).end(LocalDateTime.now().plusMonths(1)).start(LocalDateTime.now().plusDays(5))
-                .item(item2).booker(User.builder().id(1L).build()).build();
-        when(bookingRepository.findByItemInAndStartAfterAndStatusNotLikeOrderByStartAsc(any(), any(), any()))
-                .thenReturn(List.of(bookingNext1, bookingNext, bookingNext2));
-
-        when(commentRepository.findByItemIn(any(), any())).thenReturn(List.of(Comment.builder()
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
+        ItemView item = ItemView.builder().id(1L).name("first").description("desc").build();
+        ItemView item1 = ItemView.builder().id(2L).name("second").description("desc1").build();
+        ItemView item2 = ItemView.builder().id(3L).name("free").description("desc2").build();
+        when(repository.findByOwnerId(anyLong(), any())).thenReturn(List.of(item2, item, item1));
+
+        List<NearestBooking> nearest = List.of(
+                nearest(NearestBooking.NEXT, 3L, 3L, 1L), nearest(NearestBooking.LAST, 3L, 2L, 1L));
+        when(bookingRepository.findNearestByItemIdIn(any(), any())).thenReturn(nearest);
+
+        when(commentRepository.findByItemIdIn(any(), any())).thenReturn(List.of(CommentView.builder()
+                .itemId(item.getId())
                 .id(1L)
                 .text("text")
-                .item(item)
-                .author(User.builder().name("Name").build())
+                .authorName("Name")
                 .build()));
 
         List<ItemDto> itemDtos = service.getAll(1, 0, 5);
@@ -368,6 +387,16 @@ class ItemServiceImplTest {
 
         mapper = mock(ItemMapper.class);
         service = new ItemServiceImpl(userService, requestService, repository, bookingRepository,
-                commentRepository, mapper, bookingMapper, commentMapper);
+                commentRepository, mapper, bookingMapper, commentMapper, searchIndex, invalidationBus, idFilters);
+    }
+
+    private NearestBooking nearest(String kind, Long itemId, Long id, Long bookerId) {
+        NearestBooking booking = mock(NearestBooking.class);
+        when(booking.getKind()).thenReturn(kind);
+        when(booking.getItemId()).thenReturn(itemId);
+        when(booking.getId()).thenReturn(id);
+        when(booking.getBookerId()).thenReturn(bookerId);
+        when(booking.isNext()).thenCallRealMethod();
+        return booking;
     }
 }
\ No newline at end of file
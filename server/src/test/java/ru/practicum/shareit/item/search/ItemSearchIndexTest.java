@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private final ItemRepository repository = mock(ItemRepository.class);
+
+    private final ItemSearchIndex index = new ItemSearchIndex(repository);
+
+    @BeforeEach
+    void setUp() {
+        index.index(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true).build());
+        index.index(Item.builder().id(2L).name("Отвертка").description("Аккумуляторная отвертка").available(true).build());
+        index.index(Item.builder().id(3L).name("Кейс").description("Кейс для дрели и отвертки").available(true).build());
+        index.index(Item.builder().id(4L).name("Дрель ударная").description("Сломана").available(false).build());
+    }
+
+    @Test
+    void searchBySubstringIgnoringCase() {
+        assertEquals(List.of(1L, 3L), index.search("дРЕл", 0, 10), "не находит по части слова");
+        assertEquals(List.of(2L), index.search("УМУЛЯТОР", 0, 10), "не находит по середине слова");
+    }
+
+    @Test
+    void searchRanksNameBeforeDescription() {
+        assertEquals(List.of(2L, 3L), index.search("отвертк", 0, 10), "совпадение в названии должно быть выше");
+    }
+
+    @Test
+    void searchMatchesWholePhrase() {
+        assertEquals(List.of(3L), index.search("для дрели", 0, 10), "не учитывает фразу целиком");
+        assertTrue(index.search("дрели для", 0, 10).isEmpty(), "находит слова в другом порядке");
+    }
+
+    @Test
+    void searchSkipsUnavailable() {
+        assertTrue(index.search("ударная", 0, 10).isEmpty(), "находит недоступную вещь");
+    }
+
+    @Test
+    void searchPages() {
+        assertEquals(List.of(3L), index.search("дрел", 1, 1), "не учитывает смещение");
+    }
+
+    @Test
+    void indexReplacesChangedItem() {
+        index.index(Item.builder().id(1L).name("Перфоратор").description("Мощный").available(true).build());
+
+        assertEquals(List.of(3L), index.search("дрел", 0, 10), "не удаляет старые слова");
+        assertEquals(List.of(1L), index.search("перфоратор", 0, 10), "не добавляет новые слова");
+    }
+
+    @Test
+    void removeAndRebuild() {
+        index.remove(3L);
+        assertEquals(List.of(1L), index.search("дрел", 0, 10), "не удаляет вещь из индекса");
+
+        when(repository.findAllForIndex()).thenReturn(List.of(new IndexedItem(5L, "Пила", "Ножовка", true)));
+        index.rebuild();
+
+        assertEquals(1, index.size(), "не перестраивает индекс");
+        assertEquals(List.of(5L), index.search("ножов", 0, 10), "не находит после перестроения");
+    }
+
+    @Test
+    void isSearchable() {
+        assertTrue(index.isSearchable(" дрель "));
+        assertFalse(index.isSearchable("%_ "));
+    }
+}
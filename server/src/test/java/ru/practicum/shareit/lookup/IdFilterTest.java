@@ -0,0 +1,70 @@
+package ru.practicum.shareit.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdFilterTest {
+    private static final long MARGIN = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final IdFilter filter = new IdFilter(0.01, 0, clock::get);
+
+    @Test
+    void emptyFilterRejectsNothing() {
+        assertFalse(filter.isAbsent(1));
+    }
+
+    @Test
+    void rejectsOnlyUpToWatermark() {
+        filter.rebuild(3, ids -> LongStream.of(1, 2, 4).forEach(ids));
+
+        assertFalse(filter.isAbsent(1));
+        assertFalse(filter.isAbsent(4));
+        assertTrue(filter.isAbsent(3), "Отсутствующий id ниже наибольшего не отклонён");
+        assertFalse(filter.isAbsent(5), "Id новее перестройки отклонён без проверки в базе");
+    }
+
+    @Test
+    void idAddedDuringRebuildIsKept() {
+        filter.rebuild(3, ids -> {
+            ids.accept(1);
+            filter.add(2);
+            ids.accept(3);
+        });
+
+        assertFalse(filter.isAbsent(2), "Id, добавленный во время перестройки, потерян");
+    }
+
+    @Test
+    void rebuildForgetsDeletedIds() {
+        filter.rebuild(2, ids -> LongStream.of(1, 2).forEach(ids));
+        filter.rebuild(2, ids -> LongStream.of(2, 3).forEach(ids));
+
+        assertTrue(filter.isAbsent(1));
+        assertEquals(3, filter.watermark());
+    }
+
+    @Test
+    void idsAboveSettledWatermarkAreChecked() {
+        IdFilter guarded = new IdFilter(0.01, MARGIN, clock::get);
+        guarded.rebuild(3, ids -> LongStream.of(1, 2, 4).forEach(ids));
+
+        assertFalse(guarded.isAbsent(3), "Id ниже наибольшего отклонён сразу после первой перестройки");
+
+        clock.addAndGet(MARGIN / 2);
+        guarded.rebuild(4, ids -> LongStream.of(1, 2, 4, 6).forEach(ids));
+        assertFalse(guarded.isAbsent(3), "Отклонён id перестройки, закончившейся раньше запаса");
+
+        clock.addAndGet(MARGIN);
+        guarded.rebuild(4, ids -> LongStream.of(1, 2, 4, 6, 8).forEach(ids));
+        assertTrue(guarded.isAbsent(3), "Не отклонён id ниже наибольшего перестройки старше запаса");
+        assertTrue(guarded.isAbsent(5));
+        assertFalse(guarded.isAbsent(7), "Отклонён id, транзакция которого могла завершиться после перестройки");
+        assertEquals(6, guarded.watermark());
+    }
+}
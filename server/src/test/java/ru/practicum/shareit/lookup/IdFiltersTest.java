@@ -0,0 +1,71 @@
+package ru.practicum.shareit.lookup;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdFiltersTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private IdFilters idFilters;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+        idFilters.rebuild();
+    }
+
+    @Test
+    void deletedUserIsRejectedWithoutStatements() {
+        UserDto deleted = userService.add(UserDto.builder().name("deleted").email("deleted@mail").build());
+        UserDto kept = userService.add(UserDto.builder().name("kept").email("kept@mail").build());
+        userService.delete(deleted.getId());
+        idFilters.rebuild();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        NotFoundException thrown = assertThrows(NotFoundException.class, () -> userService.getUser(deleted.getId()));
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "Отсутствующий пользователь проверяется в базе");
+        assertEquals(0, thrown.getStackTrace().length);
+        assertEquals("kept", userService.getById(kept.getId()).getName());
+        assertThrows(NotFoundException.class, () -> itemService.getItem(kept.getId() + 1_000));
+    }
+
+    @Test
+    void rowsInsertedAfterRebuildAreFound() {
+        UserDto first = userService.add(UserDto.builder().name("first").email("first@mail").build());
+        idFilters.rebuild();
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", "direct", "direct@mail");
+        UserDto last = userService.add(UserDto.builder().name("last").email("last@mail").build());
+        long direct = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, "direct@mail");
+
+        assertEquals("first", userService.getById(first.getId()).getName());
+        assertEquals("direct", userService.getById(direct).getName(), "Запись в обход сервиса отклонена фильтром");
+        assertEquals("last", userService.getById(last.getId()).getName());
+    }
+}
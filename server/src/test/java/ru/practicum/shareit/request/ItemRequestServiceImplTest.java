@@ -1,13 +1,14 @@
 package ru.practicum.shareit.request;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import ru.practicum.shareit.exception.IncorrectCountException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
@@ -21,8 +22,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class ItemRequestServiceImplTest {
     private final UserService userService = mock(UserService.class);
@@ -35,8 +35,12 @@ class ItemRequestServiceImplTest {
 
     private final ItemMapper itemMapper = new ItemMapper();
 
-    private final ItemRequestService service =
-            new ItemRequestServiceImpl(userService, repository, itemRepository, mapper, itemMapper);
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+
+    private final IdFilters idFilters = mock(IdFilters.class);
+
+    private final ItemRequestService service = new ItemRequestServiceImpl(userService, repository, itemRepository,
+            mapper, itemMapper, invalidationBus, idFilters);
 
     @Test
     void getAllByUserFromNegative() {
@@ -103,6 +107,17 @@ class ItemRequestServiceImplTest {
         assertNotNull(thrown.getMessage());
     }
 
+    @Test
+    void replyAbsentInIdFilter() {
+        when(idFilters.isAbsent(EntityType.REQUEST, 5L)).thenReturn(true);
+
+        NotFoundException thrown = assertThrows(NotFoundException.class, () -> service.reply(5));
+
+        assertNotNull(thrown.getMessage());
+        assertEquals(0, thrown.getStackTrace().length, "Стек заполняется при отказе фильтра");
+        verify(repository, never()).findById(anyLong());
+    }
+
     @Test
     void replyIncorrectCountException() {
         Throwable thrown = assertThrows(IncorrectCountException.class, () -> {
@@ -177,7 +192,7 @@ class ItemRequestServiceImplTest {
         when(userService.getById(anyLong()))
                 .thenReturn(UserDto.builder().id(1L).email("user@mail").name("name").build());
         when(repository.findByOwnerIdNot(anyLong(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<ItemRequestDto> requests = service.getAll(1, 0, 1);
 
@@ -190,7 +205,7 @@ class ItemRequestServiceImplTest {
         when(userService.getById(anyLong()))
                 .thenReturn(UserDto.builder().id(1L).email("user@mail").name("name").build());
         when(repository.findByOwnerId(anyLong(), any()))
-                .thenReturn(Page.empty());
+                .thenReturn(List.of());
 
         List<ItemRequestDto> requests = service.getAllByUser(1, 0, 1);
 
@@ -206,8 +221,8 @@ class ItemRequestServiceImplTest {
         when(userService.getById(anyLong()))
                 .thenReturn(UserDto.builder().id(1L).email("user@mail").name("name").build());
         when(repository.findByOwnerId(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(ItemRequest.builder().id(1L).description("desc")
-                        .created(time).build())));
+                .thenReturn(List.of(ItemRequest.builder().id(1L).description("desc")
+                        .created(time).build()));
         when(itemRepository.findByRequestInOrderByIdAsc(any())).thenReturn(List.of());
 
         List<ItemRequestDto> requests = service.getAllByUser(1, 0, 1);
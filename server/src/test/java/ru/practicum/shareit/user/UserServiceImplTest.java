@@ -1,19 +1,27 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.invalidation.EntityType;
+import ru.practicum.shareit.invalidation.InvalidationBus;
+import ru.practicum.shareit.lookup.IdFilters;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 
 class UserServiceImplTest {
@@ -21,7 +29,15 @@ class UserServiceImplTest {
 
     private final UserMapper mapper = new UserMapper();
 
-    private final UserService service = new UserServiceImpl(repository, mapper);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+
+    private final IdFilters idFilters = mock(IdFilters.class);
+
+    private final UserCache cache = new UserCache(100, Duration.ofMinutes(5), meterRegistry);
+
+    private final UserService service = new UserServiceImpl(repository, mapper, cache, invalidationBus, idFilters);
 
     @Test
     void getUserUnknown() {
@@ -34,6 +50,16 @@ class UserServiceImplTest {
         assertNotNull(thrown.getMessage());
     }
 
+    @Test
+    void getUserAbsentInIdFilter() {
+        when(idFilters.isAbsent(EntityType.USER, 7L)).thenReturn(true);
+
+        NotFoundException thrown = assertThrows(NotFoundException.class, () -> service.getUser(7));
+
+        assertEquals(0, thrown.getStackTrace().length, "Стек заполняется при отказе фильтра");
+        verify(repository, never()).findById(anyLong());
+    }
+
     @Test
     void getUser() {
         User userRepository = User.builder()
@@ -177,4 +203,87 @@ class UserServiceImplTest {
         when(repository.findById(anyLong())).thenReturn(Optional.of(User.builder().build()));
         service.delete(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void repeatedLookupsHitRepositoryOnce() {
+        when(repository.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).name("name").email("user@mail").build()));
+
+        service.getUser(1);
+        service.getById(1);
+        service.getUser(1);
+
+        verify(repository, times(1)).findById(1L);
+        assertEquals(2, meterRegistry.get("cache.gets").tags("cache", "users", "result", "hit").functionCounter().count(),
+                "Не считаются попадания в кэш");
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(repository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.getUser(1));
+        assertThrows(NotFoundException.class, () -> service.getUser(1));
+
+        verify(repository, times(2)).findById(1L);
+    }
+
+    @Test
+    void changesToReturnedUserDoNotReachCache() {
+        when(repository.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).name("name").email("user@mail").build()));
+
+        service.getUser(1).setName("Nik");
+
+        assertEquals("name", service.getUser(1).getName(), "Изменение полученной сущности попало в кэш");
+    }
+
+    @Test
+    void updateAndDeleteInvalidateCache() {
+        when(repository.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).name("name").email("user@mail").build()));
+        service.getUser(1);
+
+        service.update(1, UserDto.builder().name("Nik").build());
+        assertEquals("name", service.getUser(1).getName(), "Кэш не сброшен после обновления");
+        verify(repository, times(2)).findById(1L);
+
+        service.delete(1);
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class, () -> service.getUser(1), "Удалённый пользователь остался в кэше");
+        verify(invalidationBus, times(2)).publish(EntityType.USER, 1L);
+    }
+
+    @Test
+    void loadDoesNotBlockLookupOfAnotherUser() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(User.builder().id(1L).name("name").email("user@mail").build());
+        });
+        when(repository.findById(1025L)).thenReturn(Optional.of(User.builder().id(1025L).name("other").email("other@mail").build()));
+        CompletableFuture<User> slow = CompletableFuture.supplyAsync(() -> service.getUser(1));
+        try {
+            assertTrue(loading.await(1, TimeUnit.SECONDS), "Загрузка пользователя не началась");
+
+            User other = CompletableFuture.supplyAsync(() -> service.getUser(1025)).get(1, TimeUnit.SECONDS);
+
+            assertEquals("other", other.getName(), "Загружен не тот пользователь");
+        } finally {
+            release.countDown();
+        }
+        assertEquals("name", slow.get(1, TimeUnit.SECONDS).getName(), "Загружен не тот пользователь");
+    }
+
+    @Test
+    void userChangedDuringLoadIsNotCached() {
+        when(repository.findById(1L)).thenAnswer(invocation -> {
+            cache.invalidate(1L);
+            return Optional.of(User.builder().id(1L).name("name").email("user@mail").build());
+        });
+
+        service.getUser(1);
+        service.getUser(1);
+
+        verify(repository, times(2)).findById(1L);
+    }
+}